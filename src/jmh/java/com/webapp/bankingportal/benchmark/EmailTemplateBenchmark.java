@@ -0,0 +1,64 @@
+package com.webapp.bankingportal.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.webapp.bankingportal.service.EmailServiceImpl;
+
+import io.micrometer.observation.ObservationRegistry;
+
+import lombok.val;
+
+/**
+ * Rendering of the login, OTP and statement emails. Sending is left out as it
+ * is dominated by the mail server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    // Rendering does not use the mail sender
+    private final EmailServiceImpl emailService = new EmailServiceImpl(null, ObservationRegistry.NOOP);
+    private String statementText;
+
+    @Setup
+    public void setup() {
+        val statement = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            statement.append(String.format("2024-06-%02d  CASH_DEPOSIT  %10.2f  %10.2f%n", i % 30 + 1, 100.0,
+                    100.0 * (i + 1)));
+        }
+
+        statementText = statement.toString();
+    }
+
+    @Benchmark
+    public String renderLoginEmail() {
+        return emailService.getLoginEmailTemplate("Jane Doe", "2024-06-01T10:15:30", "Bengaluru, India");
+    }
+
+    @Benchmark
+    public String renderOtpEmail() {
+        return emailService.getOtpLoginEmailTemplate("Jane Doe", "g1b2c3", "482913");
+    }
+
+    @Benchmark
+    public String renderStatementEmail() {
+        return emailService.getBankStatementEmailTemplate("Jane Doe", statementText);
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.webapp.bankingportal.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+
+import com.webapp.bankingportal.logging.RequestLoggingFilter;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import lombok.val;
+
+/**
+ * Latency of a simulated request that logs three INFO lines, from eight
+ * threads at once, with INFO disabled, written synchronously and written
+ * through the bounded async queue of logback-spring.xml. The console is
+ * modelled as a stream that takes {@code sinkMicros} per write, as a terminal
+ * or a container log pipe does under pressure. Sample time mode reports the
+ * percentiles, where synchronous writers queueing on the appender lock show.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({ "off", "sync", "async" })
+    private String mode;
+
+    @Param({ "0", "20" })
+    private int sinkMicros;
+
+    private LoggerContext context;
+    private Logger logger;
+
+    @Setup
+    public void setup() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+
+        val encoder = new JsonEncoder();
+        encoder.setContext(context);
+        encoder.setWithSequenceNumber(false);
+        encoder.setWithNanoseconds(false);
+        encoder.setWithContext(false);
+        encoder.setWithMessage(false);
+        encoder.setWithArguments(false);
+        encoder.setWithFormattedMessage(true);
+        encoder.start();
+
+        val console = new OutputStreamAppender<ILoggingEvent>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.setOutputStream(new SlowOutputStream(sinkMicros));
+        console.start();
+
+        logger = context.getLogger(LoggingBenchmark.class);
+        logger.setAdditive(false);
+        logger.setLevel("off".equals(mode) ? Level.WARN : Level.INFO);
+
+        if ("async".equals(mode)) {
+            val async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(console);
+            async.start();
+            logger.addAppender(async);
+        } else {
+            logger.addAppender(console);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void request(Blackhole blackhole) {
+        MDC.put(RequestLoggingFilter.TRACE_ID, "4bf92f3577b34da6a3ce929d0e0e4736");
+        MDC.put(RequestLoggingFilter.ENDPOINT, "POST /api/account/deposit");
+        MDC.put(RequestLoggingFilter.ACCOUNT_NUMBER, "4c6f8a");
+        try {
+            logger.info("Depositing {} into account {}", 500.0, "4c6f8a");
+            blackhole.consumeCPU(2_000);
+            logger.info("Posted {} transaction {}", "CASH_DEPOSIT", 42L);
+            logger.atInfo()
+                    .addKeyValue(RequestLoggingFilter.LATENCY, 3L)
+                    .log("{} completed with {} in {} ms", "POST /api/account/deposit", 200, 3L);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private static final class SlowOutputStream extends OutputStream {
+
+        private final long nanosPerWrite;
+
+        SlowOutputStream(int micros) {
+            this.nanosPerWrite = TimeUnit.MICROSECONDS.toNanos(micros);
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (nanosPerWrite > 0) {
+                LockSupport.parkNanos(nanosPerWrite);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.webapp.bankingportal.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.webapp.bankingportal.security.TunableBCryptPasswordEncoder;
+
+/**
+ * PIN verification through the same delegating encoder the application
+ * configures, for the BCrypt costs worth considering for
+ * {@code security.pin.bcrypt-cost}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PinVerificationBenchmark {
+
+    @Param({ "4", "6", "8", "10" })
+    private int cost;
+
+    private final String pin = "4821";
+    private PasswordEncoder encoder;
+    private String encodedPin;
+
+    @Setup
+    public void setup() {
+        encoder = TunableBCryptPasswordEncoder.delegating(cost);
+        encodedPin = encoder.encode(pin);
+    }
+
+    @Benchmark
+    public boolean verifyPin() {
+        return encoder.matches(pin, encodedPin);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.webapp.bankingportal.benchmark;
+
+import static org.springframework.security.core.userdetails.User.withUsername;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.service.TokenServiceImpl;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JWT signing and verification as done on every login and on every
+ * authenticated request by the JWT filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private TokenServiceImpl tokenService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        // Generating and parsing tokens never touches the repositories
+        tokenService = new TokenServiceImpl(null, null, null);
+        ReflectionTestUtils.setField(tokenService, "secret",
+                Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS512).getEncoded()));
+        ReflectionTestUtils.setField(tokenService, "expiration", TimeUnit.DAYS.toMillis(1));
+
+        userDetails = withUsername("g1b2c3").password("").build();
+        token = tokenService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String parseToken() throws InvalidTokenException {
+        return tokenService.getUsernameFromToken(token);
+    }
+
+}
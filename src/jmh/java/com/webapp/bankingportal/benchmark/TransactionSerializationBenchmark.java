@@ -0,0 +1,93 @@
+package com.webapp.bankingportal.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.mapper.TransactionMapper;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+/**
+ * Mapping transaction entities to {@link TransactionDTO} and serializing them,
+ * which is the CPU side of every transaction history response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionSerializationBenchmark {
+
+    @Param({ "1", "100" })
+    private int transactionCount;
+
+    private final TransactionMapper transactionMapper = new TransactionMapper();
+    private final String accountNumber = "g1b2c3";
+    private List<Transaction> transactions;
+    private List<TransactionDTO> dtos;
+
+    @Setup
+    public void setup() {
+        val source = new Account();
+        source.setAccountNumber(accountNumber);
+        val target = new Account();
+        target.setAccountNumber("h4d5e6");
+
+        transactions = new ArrayList<>(transactionCount);
+        for (int i = 0; i < transactionCount; i++) {
+            val transaction = new Transaction();
+            transaction.setId((long) i);
+            transaction.setAmount(100);
+            transaction.setTransactionType(TransactionType.CASH_TRANSFER);
+            transaction.setTransactionDate(new Date());
+            transaction.setSourceAccount(source);
+            transaction.setTargetAccount(target);
+            transaction.setSourceBalanceAfter(10_000.0 - 100 * i);
+            transaction.setTargetBalanceAfter(100.0 * i);
+            transactions.add(transaction);
+        }
+
+        dtos = map();
+    }
+
+    @Benchmark
+    public List<TransactionDTO> map() {
+        val result = new ArrayList<TransactionDTO>(transactions.size());
+        for (val transaction : transactions) {
+            result.add(transactionMapper.toDto(transaction, accountNumber));
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public String serialize() {
+        return JsonUtil.toJson(dtos);
+    }
+
+    @Benchmark
+    public String mapAndSerialize() {
+        return JsonUtil.toJson(map());
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.webapp.bankingportal.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.webapp.bankingportal.util.ValidationUtil;
+
+/**
+ * The static checks run on every registration, profile update and login
+ * identifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private String email = "jane.doe@example.com";
+    private String phoneNumber = "+14155552671";
+    private String countryCode = "US";
+    private String password = "Str0ng!Passw0rd";
+    private String accountNumber = "g1b2c3";
+
+    @Benchmark
+    public boolean validateEmail() {
+        return ValidationUtil.isValidEmail(email);
+    }
+
+    @Benchmark
+    public boolean validatePhoneNumber() {
+        return ValidationUtil.isValidPhoneNumber(phoneNumber, countryCode);
+    }
+
+    @Benchmark
+    public String validatePassword() {
+        ValidationUtil.validatePassword(password);
+        return password;
+    }
+
+    @Benchmark
+    public boolean validateAccountNumber() {
+        return ValidationUtil.isValidAccountNumber(accountNumber);
+    }
+
+}
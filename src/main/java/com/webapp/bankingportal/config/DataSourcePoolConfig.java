@@ -0,0 +1,87 @@
+package com.webapp.bankingportal.config;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@ConditionalOnClass(HikariDataSource.class)
+@ConditionalOnProperty(name = "datasource.pool.size-by-cores", havingValue = "true")
+@Slf4j
+public class DataSourcePoolConfig {
+
+    public static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+    public static final String REPLICA_MAXIMUM_POOL_SIZE = "datasource.replica.hikari.maximum-pool-size";
+
+    /**
+     * Sizes the Hikari pool from the number of cores, as connections per core
+     * times cores plus the effective spindle count, instead of Hikari's fixed
+     * default of 10. A pool larger than the database can run in parallel only
+     * moves the queueing from the pool into the database. An explicit
+     * maximum-pool-size takes precedence for the pool it is set on:
+     * spring.datasource.hikari.* for the primary, datasource.replica.hikari.*
+     * for the replica.
+     */
+    @Bean
+    static BeanPostProcessor hikariPoolSizePostProcessor(Environment environment,
+            @Value("${datasource.pool.connections-per-core:2}") int connectionsPerCore,
+            @Value("${datasource.pool.effective-spindles:1}") int effectiveSpindles) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // A routing data source is skipped, the pools behind it are sized on their own
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AbstractRoutingDataSource
+                        || environment.containsProperty(maximumPoolSizeProperty(beanName))) {
+                    return bean;
+                }
+
+                val hikari = unwrap(dataSource);
+                if (hikari != null) {
+                    val cores = Runtime.getRuntime().availableProcessors();
+                    val size = poolSize(cores, connectionsPerCore, effectiveSpindles);
+                    hikari.setMaximumPoolSize(size);
+                    log.info("Sized connection pool {} to {} connections for {} cores", hikari.getPoolName(), size,
+                            cores);
+                }
+
+                return bean;
+            }
+
+        };
+    }
+
+    private static String maximumPoolSizeProperty(String beanName) {
+        return ReplicaDataSourceConfig.REPLICA_DATA_SOURCE.equals(beanName)
+                ? REPLICA_MAXIMUM_POOL_SIZE
+                : MAXIMUM_POOL_SIZE;
+    }
+
+    public static int poolSize(int cores, int connectionsPerCore, int effectiveSpindles) {
+        return Math.max(2, cores * connectionsPerCore + effectiveSpindles);
+    }
+
+    // The data source may already be wrapped, e.g. by the SQL metrics
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+}
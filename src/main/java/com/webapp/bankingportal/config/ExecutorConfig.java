@@ -0,0 +1,52 @@
+package com.webapp.bankingportal.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.val;
+
+@Configuration
+public class ExecutorConfig {
+
+    public static final String PASSWORD_HASH_EXECUTOR = "passwordHashExecutor";
+
+    /**
+     * The executor behind {@code @Async}, built as Spring Boot would. Boot
+     * backs off its own as soon as any other executor bean is declared.
+     */
+    @Bean(name = { TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME })
+    ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Hashes passwords for bulk registration. One pool is shared by all
+     * requests, so concurrent batches cannot add threads beyond
+     * user.registration.hash-threads. Once its queue is full the submitting
+     * request thread hashes the password itself, which slows that request
+     * down instead of queueing without limit.
+     */
+    @Bean(PASSWORD_HASH_EXECUTOR)
+    ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${user.registration.hash-threads:0}") int hashThreads,
+            @Value("${user.registration.hash-queue-capacity:1000}") int queueCapacity) {
+        val threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+
+        val executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+}
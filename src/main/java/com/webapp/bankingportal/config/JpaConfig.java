@@ -0,0 +1,28 @@
+package com.webapp.bankingportal.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    public static final int JDBC_BATCH_SIZE = 50;
+
+    /**
+     * Turns on JDBC statement batching so ledger writes (transfers, batch
+     * payouts) are sent in groups instead of one round trip per row. Values set
+     * through spring.jpa.properties.hibernate.* take precedence.
+     */
+    @Bean
+    HibernatePropertiesCustomizer jdbcBatchingCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, JDBC_BATCH_SIZE);
+            hibernateProperties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            hibernateProperties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            hibernateProperties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.webapp.bankingportal.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@ConditionalOnProperty(name = "startup.lazy-init.enabled", havingValue = "true")
+@Slf4j
+public class LazyInitializationConfig {
+
+    public static final String PACKAGES = "startup.lazy-init.packages";
+
+    public static final List<String> DEFAULT_PACKAGES = List.of(
+            "org.springdoc.",
+            "org.springframework.boot.autoconfigure.mail.",
+            SwaggerConfig.class.getName());
+
+    /**
+     * Defers creating the beans of the given packages, by default the OpenAPI
+     * documentation and the mail sender, until they are first used. Neither
+     * serves the hot request paths, so their cost moves from startup to the
+     * first documentation request or the first email. A bean that an eagerly
+     * created bean depends on is still created at startup.
+     */
+    @Bean
+    static BeanFactoryPostProcessor lazyInitializationPostProcessor(Environment environment) {
+        val packages = Binder.get(environment)
+                .bind(PACKAGES, Bindable.listOf(String.class))
+                .orElse(DEFAULT_PACKAGES);
+
+        return beanFactory -> {
+            var count = 0;
+            for (val beanName : beanFactory.getBeanDefinitionNames()) {
+                val definition = beanFactory.getBeanDefinition(beanName);
+                val type = declaringType(beanFactory, definition);
+                if (!definition.isLazyInit() && type != null && packages.stream().anyMatch(type::startsWith)) {
+                    definition.setLazyInit(true);
+                    count++;
+                }
+            }
+
+            log.info("Deferred initialization of {} beans", count);
+        };
+    }
+
+    // Beans from @Bean methods have no class name of their own; use the configuration class they come from
+    private static String declaringType(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        if (definition.getBeanClassName() != null) {
+            return definition.getBeanClassName();
+        }
+
+        val factoryBeanName = definition.getFactoryBeanName();
+        return factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)
+                ? beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName()
+                : null;
+    }
+
+}
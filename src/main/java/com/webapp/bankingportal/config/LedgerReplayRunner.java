@@ -0,0 +1,32 @@
+package com.webapp.bankingportal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.webapp.bankingportal.service.LedgerService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rebuilds all balances from the ledger on startup when the application is run
+ * with {@code --ledger.replay.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.replay.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class LedgerReplayRunner implements ApplicationRunner {
+
+    private final LedgerService ledgerService;
+
+    @Value("${ledger.replay.threads:4}")
+    private int threads;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ledgerService.replay(threads);
+    }
+
+}
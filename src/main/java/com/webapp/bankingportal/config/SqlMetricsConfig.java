@@ -0,0 +1,47 @@
+package com.webapp.bankingportal.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.webapp.bankingportal.metrics.StatementTimingDataSource;
+
+import io.micrometer.observation.ObservationRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.metrics.enabled", matchIfMissing = true)
+public class SqlMetricsConfig {
+
+    /**
+     * Wraps the application's data sources so statements executed during an
+     * HTTP request are counted and timed by the SQL metrics filter, and traced
+     * as part of the observation they run in. A routing data source is left
+     * as is, since the pools it routes to are wrapped themselves.
+     */
+    @Bean
+    static BeanPostProcessor statementTimingDataSourcePostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementTimingDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    // Looked up on first use, so the registry and its handlers are not created this early
+                    return new StatementTimingDataSource(dataSource, SingletonSupplier
+                            .of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+                }
+
+                return bean;
+            }
+
+        };
+    }
+
+}
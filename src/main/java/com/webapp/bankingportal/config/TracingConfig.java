@@ -0,0 +1,37 @@
+package com.webapp.bankingportal.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+
+import com.webapp.bankingportal.logging.RequestLoggingFilter;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.integration.Slf4jThreadLocalAccessor;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Restores the submitting thread's observation, and with it the current
+     * span, in {@code @Async} tasks; Spring Boot applies the decorator to the
+     * task executor. The request fields of the MDC are carried along too, so
+     * log lines of async work still name the endpoint and account.
+     */
+    @Bean
+    TaskDecorator contextPropagatingTaskDecorator() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+                new Slf4jThreadLocalAccessor(RequestLoggingFilter.ENDPOINT, RequestLoggingFilter.ACCOUNT_NUMBER));
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tracing.logging.enabled", havingValue = "true")
+    LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+}
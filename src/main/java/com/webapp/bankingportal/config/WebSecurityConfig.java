@@ -1,8 +1,10 @@
 package com.webapp.bankingportal.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -11,13 +13,13 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.webapp.bankingportal.security.JwtAuthenticationEntryPoint;
 import com.webapp.bankingportal.security.JwtAuthenticationFilter;
+import com.webapp.bankingportal.security.TunableBCryptPasswordEncoder;
 import com.webapp.bankingportal.service.TokenService;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -48,14 +50,26 @@ public class WebSecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final TokenService tokenService;
 
+    @Value("${security.password.bcrypt-cost:10}")
+    private int passwordBcryptCost;
+
+    @Value("${security.pin.bcrypt-cost:10}")
+    private int pinBcryptCost;
+
     @Autowired
     public void configureGlobal(AuthenticationManagerBuilder auth) throws Exception {
         auth.userDetailsService(tokenService).passwordEncoder(passwordEncoder());
     }
 
     @Bean
+    @Primary
     PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return TunableBCryptPasswordEncoder.delegating(passwordBcryptCost);
+    }
+
+    @Bean
+    PasswordEncoder pinEncoder() {
+        return TunableBCryptPasswordEncoder.delegating(pinBcryptCost);
     }
 
     @Bean
@@ -1,17 +1,30 @@
 package com.webapp.bankingportal.controller;
 
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.BatchFundTransferRequest;
 import com.webapp.bankingportal.dto.FundTransferRequest;
 import com.webapp.bankingportal.dto.PinRequest;
+import com.webapp.bankingportal.dto.PinSession;
+import com.webapp.bankingportal.dto.PinSessionRequest;
 import com.webapp.bankingportal.dto.PinUpdateRequest;
+import com.webapp.bankingportal.dto.TransactionSearchCriteria;
+import com.webapp.bankingportal.entity.TransactionType;
 import com.webapp.bankingportal.service.AccountService;
+import com.webapp.bankingportal.service.IdempotencyService;
+import com.webapp.bankingportal.service.TransactionAggregateService;
 import com.webapp.bankingportal.service.TransactionService;
 import com.webapp.bankingportal.util.ApiMessages;
 import com.webapp.bankingportal.util.JsonUtil;
@@ -25,8 +38,14 @@ import lombok.val;
 @RequiredArgsConstructor
 public class AccountController {
 
+    public static final String PIN_SESSION_HEADER = "X-PIN-Session";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final AccountService accountService;
+    private final IdempotencyService idempotencyService;
     private final TransactionService transactionService;
+    private final TransactionAggregateService transactionAggregateService;
 
     @GetMapping("/pin/check")
     public ResponseEntity<String> checkAccountPIN() {
@@ -58,42 +77,144 @@ public class AccountController {
         return ResponseEntity.ok(ApiMessages.PIN_UPDATE_SUCCESS.getMessage());
     }
 
-    @PostMapping("/deposit")
-    public ResponseEntity<String> cashDeposit(@RequestBody AmountRequest amountRequest) {
-        accountService.cashDeposit(
+    @PostMapping("/pin/session")
+    public ResponseEntity<String> openPinSession(@RequestBody PinSessionRequest pinSessionRequest,
+            @RequestHeader("Authorization") String authorization) {
+        val pinSessionResponse = accountService.openPinSession(
                 LoggedinUser.getAccountNumber(),
-                amountRequest.pin(),
-                amountRequest.amount());
+                pinSessionRequest.pin(),
+                authorization.substring(7));
 
-        return ResponseEntity.ok(ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage());
+        return ResponseEntity.ok(JsonUtil.toJson(pinSessionResponse));
     }
 
-    @PostMapping("/withdraw")
-    public ResponseEntity<String> cashWithdrawal(@RequestBody AmountRequest amountRequest) {
-        accountService.cashWithdrawal(
-                LoggedinUser.getAccountNumber(),
-                amountRequest.pin(),
-                amountRequest.amount());
+    @PostMapping("/deposit")
+    public ResponseEntity<String> cashDeposit(@RequestBody AmountRequest amountRequest,
+            @RequestHeader(value = PIN_SESSION_HEADER, required = false) String pinSession,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader("Authorization") String authorization) {
+        return idempotent(idempotencyKey, "/deposit", amountRequest, () -> {
+            if (pinSession != null) {
+                accountService.cashDeposit(
+                        LoggedinUser.getAccountNumber(),
+                        new PinSession(pinSession, authorization.substring(7)),
+                        amountRequest.amount());
+            } else {
+                accountService.cashDeposit(
+                        LoggedinUser.getAccountNumber(),
+                        amountRequest.pin(),
+                        amountRequest.amount());
+            }
+
+            return ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage();
+        });
+    }
 
-        return ResponseEntity.ok(ApiMessages.CASH_WITHDRAWAL_SUCCESS.getMessage());
+    @PostMapping("/withdraw")
+    public ResponseEntity<String> cashWithdrawal(@RequestBody AmountRequest amountRequest,
+            @RequestHeader(value = PIN_SESSION_HEADER, required = false) String pinSession,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader("Authorization") String authorization) {
+        return idempotent(idempotencyKey, "/withdraw", amountRequest, () -> {
+            if (pinSession != null) {
+                accountService.cashWithdrawal(
+                        LoggedinUser.getAccountNumber(),
+                        new PinSession(pinSession, authorization.substring(7)),
+                        amountRequest.amount());
+            } else {
+                accountService.cashWithdrawal(
+                        LoggedinUser.getAccountNumber(),
+                        amountRequest.pin(),
+                        amountRequest.amount());
+            }
+
+            return ApiMessages.CASH_WITHDRAWAL_SUCCESS.getMessage();
+        });
     }
 
     @PostMapping("/fund-transfer")
-    public ResponseEntity<String> fundTransfer(@RequestBody FundTransferRequest fundTransferRequest) {
-        accountService.fundTransfer(
+    public ResponseEntity<String> fundTransfer(@RequestBody FundTransferRequest fundTransferRequest,
+            @RequestHeader(value = PIN_SESSION_HEADER, required = false) String pinSession,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader("Authorization") String authorization) {
+        return idempotent(idempotencyKey, "/fund-transfer", fundTransferRequest, () -> {
+            if (pinSession != null) {
+                accountService.fundTransfer(
+                        LoggedinUser.getAccountNumber(),
+                        fundTransferRequest.targetAccountNumber(),
+                        new PinSession(pinSession, authorization.substring(7)),
+                        fundTransferRequest.amount());
+            } else {
+                accountService.fundTransfer(
+                        LoggedinUser.getAccountNumber(),
+                        fundTransferRequest.targetAccountNumber(),
+                        fundTransferRequest.pin(),
+                        fundTransferRequest.amount());
+            }
+
+            return ApiMessages.CASH_TRANSFER_SUCCESS.getMessage();
+        });
+    }
+
+    @PostMapping("/fund-transfer/batch")
+    public ResponseEntity<String> batchFundTransfer(@RequestBody BatchFundTransferRequest batchFundTransferRequest) {
+        val batchFundTransferResponse = accountService.batchFundTransfer(
                 LoggedinUser.getAccountNumber(),
-                fundTransferRequest.targetAccountNumber(),
-                fundTransferRequest.pin(),
-                fundTransferRequest.amount());
+                batchFundTransferRequest.pin(),
+                batchFundTransferRequest.transfers());
 
-        return ResponseEntity.ok(ApiMessages.CASH_TRANSFER_SUCCESS.getMessage());
+        return ResponseEntity.ok(JsonUtil.toJson(batchFundTransferResponse));
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<String> getAllTransactionsByAccountNumber() {
-        val transactions = transactionService
-                .getAllTransactionsByAccountNumber(LoggedinUser.getAccountNumber());
+    public ResponseEntity<String> getAllTransactionsByAccountNumber(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        val transactions = from == null && to == null
+                ? transactionService.getAllTransactionsByAccountNumber(LoggedinUser.getAccountNumber())
+                : transactionService.getTransactionsByAccountNumber(LoggedinUser.getAccountNumber(), from, to);
         return ResponseEntity.ok(JsonUtil.toJson(transactions));
     }
 
+    @GetMapping("/transactions/search")
+    public ResponseEntity<String> searchTransactions(
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount,
+            @RequestParam(required = false) String counterparty,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        val criteria = new TransactionSearchCriteria(type, from, to, minAmount, maxAmount, counterparty);
+        val result = transactionService.searchTransactions(LoggedinUser.getAccountNumber(), criteria, page, size);
+        return ResponseEntity.ok(JsonUtil.toJson(result));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<String> getTransactionSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        val summary = transactionAggregateService.getSummary(LoggedinUser.getAccountNumber(), from, to);
+        return ResponseEntity.ok(JsonUtil.toJson(summary));
+    }
+
+    /**
+     * Runs a money operation, or replays its original response when the client
+     * retries it with an {@value #IDEMPOTENCY_KEY_HEADER} it has already used.
+     */
+    private ResponseEntity<String> idempotent(String idempotencyKey, String endpoint, Object request,
+            Supplier<String> operation) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(operation.get());
+        }
+
+        val response = idempotencyService.execute(LoggedinUser.getAccountNumber(), idempotencyKey, endpoint,
+                request, operation);
+
+        return ResponseEntity.ok()
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(response.replayed()))
+                .body(response.body());
+    }
+
 }
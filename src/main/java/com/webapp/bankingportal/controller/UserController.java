@@ -4,6 +4,7 @@ import com.webapp.bankingportal.service.EmailService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -12,12 +13,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.webapp.bankingportal.dto.BulkRegistrationRequest;
+import com.webapp.bankingportal.dto.BulkRegistrationResponse;
 import com.webapp.bankingportal.dto.LoginRequest;
 import com.webapp.bankingportal.dto.OtpRequest;
 import com.webapp.bankingportal.dto.OtpVerificationRequest;
+import com.webapp.bankingportal.dto.RegistrationResult;
 import com.webapp.bankingportal.entity.User;
 import com.webapp.bankingportal.exception.InvalidTokenException;
 import com.webapp.bankingportal.service.UserService;
+import com.webapp.bankingportal.util.JsonUtil;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -45,6 +50,23 @@ public class UserController {
         return response;
     }
 
+    // Bulk onboarding is run by the bank or a corporate client, not by customers
+    @PostMapping("/register/bulk")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CORPORATE')")
+    public ResponseEntity<String> registerUsers(@RequestBody BulkRegistrationRequest request) {
+        BulkRegistrationResponse response = userService.registerUsers(request.users());
+
+        for (RegistrationResult result : response.results()) {
+            if (result.success()) {
+                User user = request.users().get(result.index());
+                String emailBody = emailService.getBankStatementEmailTemplate(user.getName(), "Welcome! Your account is created.");
+                emailService.sendEmail(user.getEmail(), "Welcome to OneStopBank", emailBody);
+            }
+        }
+
+        return ResponseEntity.ok(JsonUtil.toJson(response));
+    }
+
     @PostMapping("/login")
     public ResponseEntity<String> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request)
             throws InvalidTokenException {
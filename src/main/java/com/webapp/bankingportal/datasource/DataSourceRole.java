@@ -0,0 +1,8 @@
+package com.webapp.bankingportal.datasource;
+
+/**
+ * Lookup keys of the {@link ReadWriteRoutingDataSource} targets.
+ */
+public enum DataSourceRole {
+    PRIMARY, REPLICA
+}
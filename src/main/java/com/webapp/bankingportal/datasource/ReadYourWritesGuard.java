@@ -0,0 +1,122 @@
+package com.webapp.bankingportal.datasource;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.val;
+
+/**
+ * Remembers which accounts were written in the last
+ * {@code datasource.replica.read-your-writes-millis}, so their own reads are
+ * served from the primary until the replica has caught up. Writes made in a
+ * transaction count from its commit. The window is kept per instance: it
+ * covers a client as long as its requests reach the instance that served
+ * the write.
+ */
+@Component
+public class ReadYourWritesGuard {
+
+    // Expired entries are only looked at again when their account is read, so sweep past this size
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    @Value("${datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.read-your-writes-millis:5000}")
+    private long windowMillis;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return !replicaUrl.isEmpty();
+    }
+
+    /**
+     * Records a write to the given accounts. Null account numbers, such as the
+     * missing side of a deposit, are ignored.
+     */
+    public void recordWrite(String... accountNumbers) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        val accounts = new HashSet<String>();
+        for (val accountNumber : accountNumbers) {
+            if (accountNumber != null) {
+                accounts.add(accountNumber);
+            }
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mark(accounts);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        var pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+
+            val committed = pending;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    mark(committed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesGuard.this);
+                }
+
+            });
+        }
+
+        pending.addAll(accounts);
+    }
+
+    public boolean hasRecentWrite(String accountNumber) {
+        if (accountNumber == null) {
+            return false;
+        }
+
+        val writtenAt = lastWrites.get(accountNumber);
+        if (writtenAt == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - writtenAt < windowNanos()) {
+            return true;
+        }
+
+        lastWrites.remove(accountNumber, writtenAt);
+        return false;
+    }
+
+    private void mark(Set<String> accountNumbers) {
+        val now = System.nanoTime();
+        for (val accountNumber : accountNumbers) {
+            lastWrites.put(accountNumber, now);
+        }
+
+        if (lastWrites.size() > SWEEP_THRESHOLD) {
+            val window = windowNanos();
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt >= window);
+        }
+    }
+
+    private long windowNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.webapp.bankingportal.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Serves service methods declared {@code @Transactional(readOnly = true)}
+ * from the replica, unless the logged in account was written within the
+ * read-your-writes window. Runs ahead of the transaction interceptor, since
+ * the connection is taken when the transaction begins. Calls that join a
+ * transaction already in progress stay on its connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "datasource.replica.url")
+@RequiredArgsConstructor
+public class ReplicaReadAspect {
+
+    private final ReadYourWritesGuard readYourWrites;
+    private final TransactionAttributeSource transactionAttributes = new AnnotationTransactionAttributeSource();
+
+    @Around("execution(public * com.webapp.bankingportal.service..*(..))"
+            + " && (@within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReplicaRouting.isReplicaRead()
+                || TransactionSynchronizationManager.isActualTransactionActive()
+                || !isReadOnly(joinPoint)
+                || readYourWrites.hasRecentWrite(currentAccountNumber())) {
+            return joinPoint.proceed();
+        }
+
+        val previous = ReplicaRouting.enter();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRouting.restore(previous);
+        }
+    }
+
+    private boolean isReadOnly(ProceedingJoinPoint joinPoint) {
+        val method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        val attribute = transactionAttributes.getTransactionAttribute(method, joinPoint.getTarget().getClass());
+        return attribute != null && attribute.isReadOnly();
+    }
+
+    private static String currentAccountNumber() {
+        val authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.webapp.bankingportal.datasource;
+
+import lombok.val;
+
+/**
+ * Marks the reads of the current thread as safe to serve from the replica.
+ * The mark only has an effect when a replica is configured, and only on the
+ * connection a read-only or non-transactional call acquires while it is set;
+ * a transaction that already holds a connection keeps using it.
+ *
+ * Write transactions must not be started inside a replica read. The replica
+ * pool is read-only, so such a write fails instead of diverging.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> replicaRead = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isReplicaRead() {
+        return Boolean.TRUE.equals(replicaRead.get());
+    }
+
+    static Boolean enter() {
+        val previous = replicaRead.get();
+        replicaRead.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            replicaRead.remove();
+        } else {
+            replicaRead.set(previous);
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.webapp.bankingportal.dto;
+
+public record BatchTransferItem(String targetAccountNumber, double amount) {
+}
@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.dto;
+
+public record BatchTransferResult(int index, String targetAccountNumber, double amount, boolean success,
+        String message) {
+
+    public static BatchTransferResult success(int index, BatchTransferItem item) {
+        return new BatchTransferResult(index, item.targetAccountNumber(), item.amount(), true, null);
+    }
+
+    public static BatchTransferResult failure(int index, BatchTransferItem item, String message) {
+        return new BatchTransferResult(index, item.targetAccountNumber(), item.amount(), false, message);
+    }
+
+}
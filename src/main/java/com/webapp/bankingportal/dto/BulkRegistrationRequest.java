@@ -0,0 +1,8 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.List;
+
+import com.webapp.bankingportal.entity.User;
+
+public record BulkRegistrationRequest(List<User> users) {
+}
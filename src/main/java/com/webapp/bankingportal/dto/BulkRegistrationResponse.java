@@ -0,0 +1,6 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.List;
+
+public record BulkRegistrationResponse(int succeeded, int failed, List<RegistrationResult> results) {
+}
@@ -0,0 +1,4 @@
+package com.webapp.bankingportal.dto;
+
+public record LedgerReplayResult(int accounts, int corrected, long entries, long elapsedMillis) {
+}
@@ -0,0 +1,8 @@
+package com.webapp.bankingportal.dto;
+
+/**
+ * A PIN session grant presented in place of the PIN, together with the bearer
+ * token of the request it arrived on (the grant is only valid for that token).
+ */
+public record PinSession(String grant, String bearerToken) {
+}
@@ -0,0 +1,4 @@
+package com.webapp.bankingportal.dto;
+
+public record PinSessionResponse(String pinSession, long expiresInSeconds, int maxOperations, double maxAmount) {
+}
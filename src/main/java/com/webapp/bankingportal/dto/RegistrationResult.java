@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.dto;
+
+public record RegistrationResult(int index, String email, boolean success, String accountNumber,
+        String message) {
+
+    public static RegistrationResult success(int index, String email, String accountNumber) {
+        return new RegistrationResult(index, email, true, accountNumber, null);
+    }
+
+    public static RegistrationResult failure(int index, String email, String message) {
+        return new RegistrationResult(index, email, false, null, message);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.Date;
+
+import com.webapp.bankingportal.entity.TransactionType;
+
+public record StatementLine(
+        Long id,
+        Date transactionDate,
+        TransactionType transactionType,
+        double amount,
+        String sourceAccountNumber,
+        String targetAccountNumber,
+        Double sourceBalanceAfter,
+        Double targetBalanceAfter) {
+}
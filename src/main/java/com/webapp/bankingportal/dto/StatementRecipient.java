@@ -0,0 +1,4 @@
+package com.webapp.bankingportal.dto;
+
+public record StatementRecipient(Long accountId, String accountNumber, String name, String email) {
+}
@@ -0,0 +1,4 @@
+package com.webapp.bankingportal.dto;
+
+public record StatementRunResult(String period, int accounts, int statements, int failed, long elapsedMillis) {
+}
@@ -2,6 +2,7 @@ package com.webapp.bankingportal.dto;
 
 import java.util.Date;
 
+import com.webapp.bankingportal.entity.ArchivedTransaction;
 import com.webapp.bankingportal.entity.Transaction;
 import com.webapp.bankingportal.entity.TransactionType;
 
@@ -21,6 +22,7 @@ public class TransactionDTO {
     private Date transactionDate;
     private String sourceAccountNumber;
     private String targetAccountNumber;
+    private Double balanceAfter;
 
     public TransactionDTO(Transaction transaction) {
         this.id = transaction.getId();
@@ -36,6 +38,33 @@ public class TransactionDTO {
         }
 
         this.targetAccountNumber = targetAccountNumber;
+        this.balanceAfter = transaction.getSourceBalanceAfter();
+    }
+
+    /**
+     * @param transaction   The transaction
+     * @param accountNumber The account whose history is being shown, which
+     *                      decides whose balance {@code balanceAfter} holds
+     */
+    public TransactionDTO(Transaction transaction, String accountNumber) {
+        this(transaction);
+
+        if (accountNumber.equals(this.targetAccountNumber)) {
+            this.balanceAfter = transaction.getTargetBalanceAfter();
+        }
+    }
+
+    public TransactionDTO(ArchivedTransaction transaction, String accountNumber) {
+        this.id = transaction.getId();
+        this.amount = transaction.getAmount();
+        this.transactionType = transaction.getTransactionType();
+        this.transactionDate = transaction.getTransactionDate();
+        this.sourceAccountNumber = transaction.getSourceAccountNumber();
+
+        val targetAccountNumber = transaction.getTargetAccountNumber();
+        this.targetAccountNumber = targetAccountNumber != null ? targetAccountNumber : "N/A";
+        this.balanceAfter = accountNumber.equals(targetAccountNumber) ? transaction.getTargetBalanceAfter()
+                : transaction.getSourceBalanceAfter();
     }
 
 }
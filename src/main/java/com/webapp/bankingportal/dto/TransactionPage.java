@@ -0,0 +1,11 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.List;
+
+public record TransactionPage(
+        List<TransactionDTO> content,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages) {
+}
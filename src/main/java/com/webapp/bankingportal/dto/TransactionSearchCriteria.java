@@ -0,0 +1,18 @@
+package com.webapp.bankingportal.dto;
+
+import java.time.LocalDate;
+
+import com.webapp.bankingportal.entity.TransactionType;
+
+/**
+ * Optional filters for a transaction search. Any component left null is not
+ * applied; dates are inclusive calendar days.
+ */
+public record TransactionSearchCriteria(
+        TransactionType transactionType,
+        LocalDate from,
+        LocalDate to,
+        Double minAmount,
+        Double maxAmount,
+        String counterpartyAccountNumber) {
+}
@@ -0,0 +1,11 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.List;
+
+public record TransactionSummary(
+        String from,
+        String to,
+        double totalCredits,
+        double totalDebits,
+        List<TransactionSummaryItem> items) {
+}
@@ -0,0 +1,11 @@
+package com.webapp.bankingportal.dto;
+
+import com.webapp.bankingportal.entity.LedgerDirection;
+import com.webapp.bankingportal.entity.TransactionType;
+
+public record TransactionSummaryItem(
+        TransactionType transactionType,
+        LedgerDirection direction,
+        Long count,
+        Double total) {
+}
@@ -0,0 +1,6 @@
+package com.webapp.bankingportal.dto;
+
+import com.webapp.bankingportal.entity.Role;
+
+public record UserCredentials(String password, Role role) {
+}
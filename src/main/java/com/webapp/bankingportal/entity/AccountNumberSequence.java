@@ -0,0 +1,30 @@
+package com.webapp.bankingportal.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Next unreserved position of the account number sequence. Application
+ * instances reserve blocks of positions by advancing nextValue and hand the
+ * numbers out from memory.
+ */
+@Entity
+@Table(name = "account_number_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountNumberSequence {
+
+    public static final long ID = 1;
+
+    @Id
+    private Long id;
+
+    private long nextValue;
+
+}
@@ -0,0 +1,45 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A {@link Transaction} moved out of the live table by the archive job. It keeps
+ * its original id and stores account numbers instead of account references, so
+ * archived rows need no joins and no foreign keys.
+ */
+@Entity
+@Table(name = "transaction_archive", indexes = {
+        @Index(name = "idx_transaction_archive_source_date", columnList = "source_account_number, transaction_date"),
+        @Index(name = "idx_transaction_archive_target_date", columnList = "target_account_number, transaction_date"),
+        @Index(name = "idx_transaction_archive_date", columnList = "transaction_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTransaction {
+
+    @Id
+    private Long id;
+    private double amount;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    private Date transactionDate;
+    private String sourceAccountNumber;
+    private String targetAccountNumber;
+    private Double sourceBalanceAfter;
+    private Double targetBalanceAfter;
+
+}
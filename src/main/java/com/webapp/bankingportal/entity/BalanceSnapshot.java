@@ -0,0 +1,52 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The balance of an account after its ledger entry number {@code entryNumber},
+ * posted at {@code postedAt}. A balance is the latest snapshot plus the entries
+ * numbered after it.
+ */
+@Entity
+@Table(name = "balance_snapshot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_balance_snapshot_account_entry_number",
+                columnNames = { "account_number", "entry_number" }))
+@Data
+@NoArgsConstructor
+public class BalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_snapshot_sequence")
+    @SequenceGenerator(name = "balance_snapshot_sequence", sequenceName = "balance_snapshot_sequence", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    private long entryNumber;
+
+    private double balance;
+
+    @Column(nullable = false)
+    private Date postedAt;
+
+    public BalanceSnapshot(String accountNumber, long entryNumber, double balance, Date postedAt) {
+        this.accountNumber = accountNumber;
+        this.entryNumber = entryNumber;
+        this.balance = balance;
+        this.postedAt = postedAt;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.webapp.bankingportal.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number and total amount of the transactions of one type and direction posted
+ * to an account on one day. Rows are maintained by the posting transaction, so
+ * they always agree with the transaction table.
+ */
+@Entity
+@Table(name = "daily_transaction_aggregate")
+@Data
+@NoArgsConstructor
+public class DailyTransactionAggregate {
+
+    @EmbeddedId
+    private DailyTransactionAggregateId id;
+
+    private long transactionCount;
+    private double totalAmount;
+
+    public DailyTransactionAggregate(DailyTransactionAggregateId id) {
+        this.id = id;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.webapp.bankingportal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "idempotency_record",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_record_account_key",
+                columnNames = { "account_number", "idempotency_key" }),
+        indexes = @Index(name = "idx_idempotency_record_created_at", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_record_sequence")
+    @SequenceGenerator(name = "idempotency_record_sequence", sequenceName = "idempotency_record_sequence", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private String endpoint;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(length = 4096)
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public IdempotencyRecord(String idempotencyKey, String accountNumber, String endpoint, String requestHash) {
+        this.idempotencyKey = idempotencyKey;
+        this.accountNumber = accountNumber;
+        this.endpoint = endpoint;
+        this.requestHash = requestHash;
+        this.createdAt = LocalDateTime.now();
+    }
+
+}
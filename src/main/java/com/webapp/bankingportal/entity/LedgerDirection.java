@@ -0,0 +1,6 @@
+package com.webapp.bankingportal.entity;
+
+public enum LedgerDirection {
+    DEBIT,
+    CREDIT
+}
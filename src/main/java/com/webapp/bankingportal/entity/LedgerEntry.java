@@ -0,0 +1,82 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One side of a double-entry posting. Every posting writes a debit and a credit
+ * of the same amount, so the entries of a transaction always sum to zero.
+ *
+ * Entries on customer accounts are numbered per account ({@code entryNumber}),
+ * which orders them independently of id allocation and lets balance snapshots
+ * refer to a position in the account's history. Entries on the bank's internal
+ * accounts ({@link #CASH_ACCOUNT}, {@link #OPENING_BALANCE_ACCOUNT}) are not
+ * numbered, so they do not serialize postings on a single counter.
+ */
+@Entity
+@Table(name = "ledger_entry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_entry_account_entry_number",
+                columnNames = { "account_number", "entry_number" }),
+        indexes = @Index(name = "idx_ledger_entry_transaction", columnList = "transaction_id"))
+@Data
+@NoArgsConstructor
+public class LedgerEntry {
+
+    public static final String CASH_ACCOUNT = "CASH";
+    public static final String OPENING_BALANCE_ACCOUNT = "OPENING";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_sequence")
+    @SequenceGenerator(name = "ledger_entry_sequence", sequenceName = "ledger_entry_sequence", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    private Long entryNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LedgerDirection direction;
+
+    private double amount;
+
+    @Column(nullable = false)
+    private Date postedAt;
+
+    // Not a foreign key, since transactions move to the archive tier over time
+    private Long transactionId;
+
+    public LedgerEntry(Long transactionId, String accountNumber, Long entryNumber, LedgerDirection direction,
+            double amount, Date postedAt) {
+        this.transactionId = transactionId;
+        this.accountNumber = accountNumber;
+        this.entryNumber = entryNumber;
+        this.direction = direction;
+        this.amount = amount;
+        this.postedAt = postedAt;
+    }
+
+    /**
+     * @return The effect of this entry on a customer balance: credits add to it
+     *         and debits take from it
+     */
+    public double getSignedAmount() {
+        return direction == LedgerDirection.CREDIT ? amount : -amount;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.webapp.bankingportal.entity;
+
+public enum Role {
+    CUSTOMER,
+    CORPORATE,
+    ADMIN
+}
@@ -0,0 +1,54 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one partition of a monthly statement run. A partition covers the
+ * accounts with ids in [firstAccountId, lastAccountId] and has sent statements
+ * for every account up to lastProcessedAccountId.
+ */
+@Entity
+@Table(name = "statement_checkpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uk_statement_checkpoint_period_partition",
+                columnNames = { "period", "partition_index" }))
+@Data
+@NoArgsConstructor
+public class StatementCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "statement_checkpoint_sequence")
+    @SequenceGenerator(name = "statement_checkpoint_sequence", sequenceName = "statement_checkpoint_sequence")
+    private Long id;
+
+    @Column(nullable = false, length = 7)
+    private String period;
+
+    private int partitionIndex;
+    private long firstAccountId;
+    private long lastAccountId;
+    private long lastProcessedAccountId;
+    private boolean completed;
+    private Date updatedAt;
+
+    public StatementCheckpoint(String period, int partitionIndex, long firstAccountId, long lastAccountId) {
+        this.period = period;
+        this.partitionIndex = partitionIndex;
+        this.firstAccountId = firstAccountId;
+        this.lastAccountId = lastAccountId;
+        this.lastProcessedAccountId = firstAccountId - 1;
+        this.updatedAt = new Date();
+    }
+
+}
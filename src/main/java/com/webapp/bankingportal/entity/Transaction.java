@@ -8,16 +8,39 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 import lombok.Data;
 
 @Entity
+// Each account-scoped index leads with the account column and ends with the
+// date, so searches can both filter and return newest-first from the index
+@Table(indexes = {
+        @Index(name = "idx_transaction_date", columnList = "transaction_date"),
+        @Index(name = "idx_transaction_source_date", columnList = "source_account_id, transaction_date"),
+        @Index(name = "idx_transaction_target_date", columnList = "target_account_id, transaction_date"),
+        @Index(name = "idx_transaction_source_type_date",
+                columnList = "source_account_id, transaction_type, transaction_date"),
+        @Index(name = "idx_transaction_target_type_date",
+                columnList = "target_account_id, transaction_type, transaction_date"),
+        @Index(name = "idx_transaction_source_target_date",
+                columnList = "source_account_id, target_account_id, transaction_date") })
+@NamedEntityGraph(name = Transaction.WITH_ACCOUNTS,
+        attributeNodes = { @NamedAttributeNode("sourceAccount"), @NamedAttributeNode("targetAccount") })
 @Data
 public class Transaction {
+
+    public static final String WITH_ACCOUNTS = "Transaction.accounts";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_sequence")
+    @SequenceGenerator(name = "transaction_sequence", sequenceName = "transaction_sequence", allocationSize = 100)
     private Long id;
     private double amount;
 
@@ -34,4 +57,9 @@ public class Transaction {
     @JoinColumn(name = "target_account_id")
     private Account targetAccount;
 
+    // Balances of the source and target accounts right after this posting,
+    // null for transactions posted before the columns were introduced
+    private Double sourceBalanceAfter;
+    private Double targetBalanceAfter;
+
 }
@@ -5,24 +5,36 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@NamedEntityGraph(name = User.WITH_ACCOUNT, attributeNodes = @NamedAttributeNode("account"))
 @Data
 public class User {
+
+    public static final String WITH_ACCOUNT = "User.account";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_sequence")
+    @SequenceGenerator(name = "user_sequence", sequenceName = "user_sequence", allocationSize = 100)
     private Long id;
 
     @NotEmpty
@@ -46,8 +58,17 @@ public class User {
     @NotEmpty
     private String address;
 
-    // Establishing a one-to-one relationship with the account
+    // Granted by the bank, never taken from a registration or update request
+    @Enumerated(EnumType.STRING)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Role role = Role.CUSTOMER;
+
+    // Establishing a one-to-one relationship with the account. As the inverse
+    // side it cannot be proxied, so queries that load users fetch it through
+    // the WITH_ACCOUNT graph instead of a select per user.
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Account account;
 
 }
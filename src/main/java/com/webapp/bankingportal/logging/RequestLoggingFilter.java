@@ -0,0 +1,94 @@
+package com.webapp.bankingportal.logging;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.tracing.Tracer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Puts the trace id and endpoint of each HTTP request in the MDC, so every
+ * line logged while serving it carries them, and logs the request with its
+ * status and latency once it completes. The account number is added by
+ * {@link com.webapp.bankingportal.security.JwtAuthenticationFilter} once the
+ * caller is authenticated.
+ *
+ * The filter runs inside the request's http.server.requests observation, so
+ * the trace id is that of the request's span and is returned in the
+ * X-Trace-Id header. Callers join a trace with a W3C traceparent header.
+ * Without tracing a random id is used.
+ *
+ * The completion line is logged at INFO; raise the level of this logger to
+ * drop it without losing the MDC fields.
+ */
+@Component
+// After the ServerHttpObservationFilter that starts the request's span
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+@Slf4j
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    public static final String TRACE_ID = "traceId";
+    public static final String ENDPOINT = "endpoint";
+    public static final String ACCOUNT_NUMBER = "accountNumber";
+    public static final String LATENCY = "latencyMs";
+
+    private final ObjectProvider<Tracer> tracer;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        val start = System.nanoTime();
+        val traceId = traceId();
+        val endpoint = request.getMethod() + " " + request.getRequestURI();
+
+        MDC.put(TRACE_ID, traceId);
+        MDC.put(ENDPOINT, endpoint);
+        response.setHeader(TRACE_ID_HEADER, traceId);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            val latency = (System.nanoTime() - start) / 1_000_000;
+            log.atInfo()
+                    .addKeyValue(LATENCY, latency)
+                    .log("{} completed with {} in {} ms", endpoint, response.getStatus(), latency);
+
+            MDC.remove(TRACE_ID);
+            MDC.remove(ENDPOINT);
+            MDC.remove(ACCOUNT_NUMBER);
+        }
+    }
+
+    private String traceId() {
+        val span = tracer.getIfAvailable(() -> Tracer.NOOP).currentSpan();
+        if (span != null && !span.context().traceId().isEmpty()) {
+            return span.context().traceId();
+        }
+
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+}
@@ -3,6 +3,7 @@ package com.webapp.bankingportal.mapper;
 import org.springframework.stereotype.Component;
 
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.entity.ArchivedTransaction;
 import com.webapp.bankingportal.entity.Transaction;
 
 @Component
@@ -12,4 +13,12 @@ public class TransactionMapper {
         return new TransactionDTO(transaction);
     }
 
+    public TransactionDTO toDto(Transaction transaction, String accountNumber) {
+        return new TransactionDTO(transaction, accountNumber);
+    }
+
+    public TransactionDTO toDto(ArchivedTransaction transaction, String accountNumber) {
+        return new TransactionDTO(transaction, accountNumber);
+    }
+
 }
@@ -2,6 +2,7 @@ package com.webapp.bankingportal.mapper;
 
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -10,6 +11,8 @@ import com.webapp.bankingportal.entity.User;
 @Mapper(componentModel = "spring")
 public interface UserMapper {
 
+    // The role is only changed by the bank, so a profile update never carries it
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "role", ignore = true)
     public void updateUser(User source, @MappingTarget User target);
 }
@@ -0,0 +1,144 @@
+package com.webapp.bankingportal.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.webapp.bankingportal.entity.TransactionType;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+/**
+ * Domain counters for money movement, balance check and PIN failures and OTP
+ * traffic. Each counter is a {@link LongAdder}, so concurrent postings add to
+ * separate cells instead of contending on one value; the registry only sums
+ * the cells when it is scraped. Rates per second are derived from the
+ * counters by the monitoring system.
+ */
+@Component
+public class BusinessMetrics {
+
+    public static final String TRANSACTIONS = "bankingportal.transactions";
+    public static final String TRANSACTION_AMOUNT = "bankingportal.transactions.amount";
+    public static final String BALANCE_CHECK_FAILURES = "bankingportal.balance.check.failures";
+    public static final String PIN_FAILURES = "bankingportal.pin.failures";
+    public static final String OTP_GENERATED = "bankingportal.otp.generated";
+    public static final String OTP_VERIFICATIONS = "bankingportal.otp.verifications";
+
+    private final Map<TransactionType, LongAdder> transactions = new EnumMap<>(TransactionType.class);
+
+    // Amounts are summed in cents so the adder stays exact
+    private final Map<TransactionType, LongAdder> transactionCents = new EnumMap<>(TransactionType.class);
+
+    private final LongAdder balanceCheckFailures = new LongAdder();
+    private final LongAdder wrongPins = new LongAdder();
+    private final LongAdder malformedPins = new LongAdder();
+    private final LongAdder otpGenerated = new LongAdder();
+    private final LongAdder otpVerified = new LongAdder();
+    private final LongAdder otpInvalid = new LongAdder();
+    private final LongAdder otpExpired = new LongAdder();
+
+    public BusinessMetrics(MeterRegistry meterRegistry) {
+        for (val type : TransactionType.values()) {
+            val count = new LongAdder();
+            val cents = new LongAdder();
+            transactions.put(type, count);
+            transactionCents.put(type, cents);
+
+            FunctionCounter.builder(TRANSACTIONS, count, LongAdder::sum)
+                    .description("Transactions posted")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            FunctionCounter.builder(TRANSACTION_AMOUNT, cents, adder -> adder.sum() / 100.0)
+                    .description("Total amount of the transactions posted")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+
+        FunctionCounter.builder(BALANCE_CHECK_FAILURES, balanceCheckFailures, LongAdder::sum)
+                .description("Debits rejected for insufficient balance")
+                .register(meterRegistry);
+        FunctionCounter.builder(PIN_FAILURES, wrongPins, LongAdder::sum)
+                .description("PINs rejected")
+                .tag("reason", "wrong")
+                .register(meterRegistry);
+        FunctionCounter.builder(PIN_FAILURES, malformedPins, LongAdder::sum)
+                .description("PINs rejected")
+                .tag("reason", "format")
+                .register(meterRegistry);
+        FunctionCounter.builder(OTP_GENERATED, otpGenerated, LongAdder::sum)
+                .description("OTPs issued")
+                .register(meterRegistry);
+        FunctionCounter.builder(OTP_VERIFICATIONS, otpVerified, LongAdder::sum)
+                .description("OTP verifications")
+                .tag("result", "verified")
+                .register(meterRegistry);
+        FunctionCounter.builder(OTP_VERIFICATIONS, otpInvalid, LongAdder::sum)
+                .description("OTP verifications")
+                .tag("result", "invalid")
+                .register(meterRegistry);
+        FunctionCounter.builder(OTP_VERIFICATIONS, otpExpired, LongAdder::sum)
+                .description("OTP verifications")
+                .tag("result", "expired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts a posting once its transaction commits, so postings that are
+     * rolled back are not reported as money moved.
+     */
+    public void transactionPosted(TransactionType type, double amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordTransaction(type, amount);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordTransaction(type, amount);
+            }
+        });
+    }
+
+    private void recordTransaction(TransactionType type, double amount) {
+        transactions.get(type).increment();
+        transactionCents.get(type).add(Math.round(amount * 100));
+    }
+
+    public void balanceCheckFailed() {
+        balanceCheckFailures.increment();
+    }
+
+    public void wrongPin() {
+        wrongPins.increment();
+    }
+
+    public void malformedPin() {
+        malformedPins.increment();
+    }
+
+    public void otpGenerated() {
+        otpGenerated.increment();
+    }
+
+    public void otpVerified() {
+        otpVerified.increment();
+    }
+
+    public void otpInvalid() {
+        otpInvalid.increment();
+    }
+
+    public void otpExpired() {
+        otpExpired.increment();
+    }
+
+}
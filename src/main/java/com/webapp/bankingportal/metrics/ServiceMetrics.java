@@ -0,0 +1,101 @@
+package com.webapp.bankingportal.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+
+import com.webapp.bankingportal.controller.GlobalExceptionHandler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Records the {@value #TIMER_NAME} timer for service operations, tagged with
+ * the service class, the method, and an outcome and exception. The outcome is
+ * the one the HTTP layer would report for the exception, taken from the
+ * response {@link GlobalExceptionHandler} builds for it, so service and
+ * {@code http.server.requests} metrics agree on what counts as a client or
+ * server error.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceMetrics {
+
+    public static final String TIMER_NAME = "bankingportal.service";
+
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final GlobalExceptionHandler globalExceptionHandler;
+
+    private final ExceptionHandlerMethodResolver exceptionHandlerResolver = new ExceptionHandlerMethodResolver(
+            GlobalExceptionHandler.class);
+    private final Map<Class<?>, Outcome> outcomes = new ConcurrentHashMap<>();
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param sample      The sample started before the operation
+     * @param serviceType The service class the operation belongs to
+     * @param method      The operation's method name
+     * @param error       The exception the operation failed with, or null
+     */
+    public void stop(Timer.Sample sample, Class<?> serviceType, String method, Throwable error) {
+        sample.stop(Timer.builder(TIMER_NAME)
+                .description("Time taken by service operations")
+                .tag("class", serviceType.getSimpleName())
+                .tag("method", method)
+                .tag("outcome", error == null ? Outcome.SUCCESS.name() : outcomeOf(error).name())
+                .tag("exception", error == null ? NONE : error.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * Times an operation that is not reached by {@link ServiceMetricsAspect},
+     * such as a private helper.
+     */
+    public void record(Class<?> serviceType, String method, Runnable operation) {
+        val sample = start();
+        try {
+            operation.run();
+        } catch (RuntimeException e) {
+            stop(sample, serviceType, method, e);
+            throw e;
+        }
+
+        stop(sample, serviceType, method, null);
+    }
+
+    private Outcome outcomeOf(Throwable error) {
+        return outcomes.computeIfAbsent(error.getClass(), type -> resolveOutcome(error));
+    }
+
+    private Outcome resolveOutcome(Throwable error) {
+        val handler = exceptionHandlerResolver.resolveMethodByThrowable(error);
+        if (handler == null) {
+            return Outcome.SERVER_ERROR;
+        }
+
+        val arguments = new Object[handler.getParameterCount()];
+        arguments[0] = error;
+
+        try {
+            val response = (ResponseEntity<?>) handler.invoke(globalExceptionHandler, arguments);
+            return Outcome.forStatus(response.getStatusCode().value());
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return Outcome.SERVER_ERROR;
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.webapp.bankingportal.metrics;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Times every public method of the instrumented services. Operations that
+ * return a {@link CompletableFuture} are recorded when the future completes,
+ * with the outcome of the future. Calls a service makes to its own methods do
+ * not go through the proxy and are not timed separately.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final ServiceMetrics serviceMetrics;
+
+    @Around("execution(public * com.webapp.bankingportal.service.AccountServiceImpl.*(..))"
+            + " || execution(public * com.webapp.bankingportal.service.TokenServiceImpl.*(..))"
+            + " || execution(public * com.webapp.bankingportal.service.OtpServiceImpl.*(..))"
+            + " || execution(public * com.webapp.bankingportal.service.EmailServiceImpl.*(..))"
+            + " || execution(public * com.webapp.bankingportal.service.GeolocationServiceImpl.*(..))"
+            + " || execution(public * com.webapp.bankingportal.service.TransactionServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        val serviceType = joinPoint.getSignature().getDeclaringType();
+        val method = joinPoint.getSignature().getName();
+        val sample = serviceMetrics.start();
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            serviceMetrics.stop(sample, serviceType, method, e);
+            throw e;
+        }
+
+        if (result instanceof CompletableFuture<?> future) {
+            future.whenComplete((value, error) -> serviceMetrics.stop(sample, serviceType, method,
+                    error instanceof CompletionException ? error.getCause() : error));
+        } else {
+            serviceMetrics.stop(sample, serviceType, method, null);
+        }
+
+        return result;
+    }
+
+}
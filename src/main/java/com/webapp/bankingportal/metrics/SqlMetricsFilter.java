@@ -0,0 +1,107 @@
+package com.webapp.bankingportal.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts the SQL statements and JDBC time of each HTTP request, including
+ * the token checks made by the security filters. The figures are recorded per
+ * endpoint, logged when a request goes over the statement budget and, outside
+ * production, returned in response headers.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.metrics.enabled", matchIfMissing = true)
+// Inside RequestLoggingFilter so the budget warning carries the request's trace id
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@Slf4j
+@RequiredArgsConstructor
+public class SqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String STATEMENT_TIME_HEADER = "X-SQL-Time-Millis";
+    public static final String STATEMENTS_METRIC = "bankingportal.http.sql.statements";
+    public static final String TIME_METRIC = "bankingportal.http.sql.time";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sql.metrics.statement-budget:25}")
+    private int statementBudget;
+
+    @Value("${sql.metrics.response-headers:false}")
+    private boolean responseHeaders;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Headers can only be added after the handler ran if the body is held back until then
+        val cachingResponse = responseHeaders ? new ContentCachingResponseWrapper(response) : null;
+        val statistics = SqlStatementStatistics.begin();
+
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            SqlStatementStatistics.end();
+            record(request, statistics);
+
+            if (cachingResponse != null) {
+                cachingResponse.setHeader(STATEMENT_COUNT_HEADER, String.valueOf(statistics.getStatements()));
+                cachingResponse.setHeader(STATEMENT_TIME_HEADER, String.format("%.3f", statistics.getMillis()));
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStatistics statistics) {
+        val pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        val uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent executing SQL statements per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+
+        if (statistics.getStatements() > statementBudget) {
+            log.warn("{} {} issued {} SQL statements in {} ms, over the budget of {}", request.getMethod(),
+                    request.getRequestURI(), statistics.getStatements(), String.format("%.1f", statistics.getMillis()),
+                    statementBudget);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.webapp.bankingportal.metrics;
+
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Number of JDBC statements executed and the time spent executing them by the
+ * current thread since {@link #begin()}. Statements run on other threads, such
+ * as {@code @Async} tasks, are not attributed to the request.
+ */
+@Getter
+public final class SqlStatementStatistics {
+
+    private static final ThreadLocal<SqlStatementStatistics> current = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+
+    private SqlStatementStatistics() {
+    }
+
+    public static SqlStatementStatistics begin() {
+        val statistics = new SqlStatementStatistics();
+        current.set(statistics);
+        return statistics;
+    }
+
+    public static void end() {
+        current.remove();
+    }
+
+    static void record(long nanos) {
+        val statistics = current.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += nanos;
+        }
+    }
+
+    public double getMillis() {
+        return nanos / 1e6;
+    }
+
+}
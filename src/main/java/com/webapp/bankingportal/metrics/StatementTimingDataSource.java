@@ -0,0 +1,139 @@
+package com.webapp.bankingportal.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.webapp.bankingportal.tracing.Spans;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import lombok.val;
+
+/**
+ * Data source whose statements report each execution to
+ * {@link SqlStatementStatistics}. A JDBC batch counts as one statement, as it
+ * is sent in one round trip. {@link #unwrap(Class)} still reaches the pool, so
+ * pool metrics and health checks see the underlying data source.
+ *
+ * Executions within an observation, such as an HTTP request, are also
+ * observed as child spans carrying the SQL.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private final Supplier<ObservationRegistry> observationRegistry;
+
+    public StatementTimingDataSource(DataSource targetDataSource, Supplier<ObservationRegistry> observationRegistry) {
+        super(targetDataSource);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementTimingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection, observationRegistry.get()));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection connection, ObservationRegistry observationRegistry)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            val result = StatementTimingDataSource.invoke(connection, method, args);
+
+            // prepareStatement and prepareCall take the SQL up front
+            val sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+
+            if (result instanceof CallableStatement) {
+                return wrapStatement(result, CallableStatement.class, sql);
+            } else if (result instanceof PreparedStatement) {
+                return wrapStatement(result, PreparedStatement.class, sql);
+            } else if (result instanceof Statement) {
+                return wrapStatement(result, Statement.class, null);
+            }
+
+            return result;
+        }
+
+        private Object wrapStatement(Object statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(StatementTimingDataSource.class.getClassLoader(),
+                    new Class<?>[] { type }, new StatementHandler(statement, sql, observationRegistry));
+        }
+
+    }
+
+    private record StatementHandler(Object statement, String sql, ObservationRegistry observationRegistry)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return StatementTimingDataSource.invoke(statement, method, args);
+            }
+
+            val observation = startObservation(method, args);
+            val start = System.nanoTime();
+            try {
+                return StatementTimingDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                if (observation != null) {
+                    observation.error(e);
+                }
+                throw e;
+            } finally {
+                SqlStatementStatistics.record(System.nanoTime() - start);
+                if (observation != null) {
+                    observation.stop();
+                }
+            }
+        }
+
+        // Statements outside any observation, such as those of scheduled jobs, are not traced
+        private Observation startObservation(Method method, Object[] args) {
+            if (observationRegistry.getCurrentObservation() == null) {
+                return null;
+            }
+
+            val text = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            val observation = Observation.createNotStarted(Spans.JDBC, observationRegistry)
+                    .contextualName(method.getName())
+                    .lowCardinalityKeyValue("jdbc.method", method.getName());
+            if (text != null) {
+                observation.highCardinalityKeyValue("db.statement", text);
+            }
+
+            return observation.start();
+        }
+
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.webapp.bankingportal.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.AccountNumberSequence;
+
+@Repository
+public interface AccountNumberSequenceRepository extends JpaRepository<AccountNumberSequence, Long> {
+
+    @Modifying
+    @Query("UPDATE AccountNumberSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.id = :id")
+    int advance(@Param("id") Long id, @Param("blockSize") long blockSize);
+
+    @Query("SELECT s.nextValue FROM AccountNumberSequence s WHERE s.id = :id")
+    Long findNextValue(@Param("id") Long id);
+
+}
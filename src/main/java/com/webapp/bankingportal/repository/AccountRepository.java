@@ -1,12 +1,52 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webapp.bankingportal.dto.StatementRecipient;
 import com.webapp.bankingportal.entity.Account;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Account findByAccountNumber(String accountNumber);
+
+    @EntityGraph(Account.WITH_USER)
+    Account findWithUserByAccountNumber(String accountNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
+    Account findForUpdateByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // Rows are locked in id order so concurrent batches acquire them consistently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber IN :accountNumbers ORDER BY a.id")
+    List<Account> findForUpdateByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.Pin = :newPin WHERE a.id = :id AND a.Pin = :currentPin")
+    int updatePinIfUnchanged(@Param("id") Long id, @Param("currentPin") String currentPin,
+            @Param("newPin") String newPin);
+
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Long findMinId();
+
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Long findMaxId();
+
+    @Query("SELECT new com.webapp.bankingportal.dto.StatementRecipient(a.id, a.accountNumber, u.name, u.email) "
+            + "FROM Account a JOIN a.user u WHERE a.id > :afterId AND a.id <= :lastId ORDER BY a.id")
+    List<StatementRecipient> findStatementRecipients(@Param("afterId") long afterId, @Param("lastId") long lastId,
+            Pageable pageable);
 }
@@ -0,0 +1,27 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.ArchivedTransaction;
+
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    List<ArchivedTransaction> findBySourceAccountNumberOrTargetAccountNumber(String sourceAccountNumber,
+            String targetAccountNumber);
+
+    @Query("SELECT a FROM ArchivedTransaction a "
+            + "WHERE (a.sourceAccountNumber = :accountNumber OR a.targetAccountNumber = :accountNumber) "
+            + "AND a.transactionDate >= :from AND a.transactionDate < :to")
+    List<ArchivedTransaction> findByAccountNumberAndDateRange(@Param("accountNumber") String accountNumber,
+            @Param("from") Date from, @Param("to") Date to);
+
+    @Query("SELECT MAX(a.transactionDate) FROM ArchivedTransaction a")
+    Date findLatestTransactionDate();
+}
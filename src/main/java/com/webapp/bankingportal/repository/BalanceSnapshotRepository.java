@@ -0,0 +1,25 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.BalanceSnapshot;
+
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, Long> {
+
+    Optional<BalanceSnapshot> findFirstByAccountNumberOrderByEntryNumberDesc(String accountNumber);
+
+    Optional<BalanceSnapshot> findFirstByAccountNumberAndPostedAtLessThanEqualOrderByEntryNumberDesc(
+            String accountNumber, Date asOf);
+
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.accountNumber = :accountNumber")
+    int deleteByAccountNumber(@Param("accountNumber") String accountNumber);
+}
@@ -0,0 +1,27 @@
+package com.webapp.bankingportal.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.dto.TransactionSummaryItem;
+import com.webapp.bankingportal.entity.DailyTransactionAggregate;
+import com.webapp.bankingportal.entity.DailyTransactionAggregateId;
+
+@Repository
+public interface DailyTransactionAggregateRepository
+        extends JpaRepository<DailyTransactionAggregate, DailyTransactionAggregateId> {
+
+    @Query("SELECT new com.webapp.bankingportal.dto.TransactionSummaryItem(a.id.transactionType, a.id.direction, "
+            + "SUM(a.transactionCount), SUM(a.totalAmount)) "
+            + "FROM DailyTransactionAggregate a "
+            + "WHERE a.id.accountNumber = :accountNumber AND a.id.postingDate BETWEEN :from AND :to "
+            + "GROUP BY a.id.transactionType, a.id.direction "
+            + "ORDER BY a.id.transactionType, a.id.direction")
+    List<TransactionSummaryItem> summarize(@Param("accountNumber") String accountNumber,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
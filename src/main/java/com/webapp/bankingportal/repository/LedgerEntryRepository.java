@@ -0,0 +1,36 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.LedgerEntry;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    String SIGNED_AMOUNT = "CASE WHEN e.direction = com.webapp.bankingportal.entity.LedgerDirection.CREDIT "
+            + "THEN e.amount ELSE -e.amount END";
+
+    List<LedgerEntry> findByTransactionId(Long transactionId);
+
+    List<LedgerEntry> findByAccountNumberOrderByEntryNumber(String accountNumber);
+
+    @Query("SELECT DISTINCT e.accountNumber FROM LedgerEntry e WHERE e.entryNumber IS NOT NULL")
+    List<String> findNumberedAccountNumbers();
+
+    @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM LedgerEntry e "
+            + "WHERE e.accountNumber = :accountNumber AND e.entryNumber > :afterEntryNumber")
+    double sumSignedAmountAfter(@Param("accountNumber") String accountNumber,
+            @Param("afterEntryNumber") long afterEntryNumber);
+
+    @Query("SELECT COALESCE(SUM(" + SIGNED_AMOUNT + "), 0) FROM LedgerEntry e "
+            + "WHERE e.accountNumber = :accountNumber AND e.entryNumber > :afterEntryNumber "
+            + "AND e.postedAt <= :asOf")
+    double sumSignedAmountAfterUpTo(@Param("accountNumber") String accountNumber,
+            @Param("afterEntryNumber") long afterEntryNumber, @Param("asOf") Date asOf);
+}
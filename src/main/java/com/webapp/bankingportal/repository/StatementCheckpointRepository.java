@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.StatementCheckpoint;
+
+@Repository
+public interface StatementCheckpointRepository extends JpaRepository<StatementCheckpoint, Long> {
+
+    List<StatementCheckpoint> findByPeriodOrderByPartitionIndex(String period);
+}
@@ -1,15 +1,64 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webapp.bankingportal.dto.StatementLine;
+import com.webapp.bankingportal.entity.ArchivedTransaction;
 import com.webapp.bankingportal.entity.Transaction;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
     // Add any custom query methods here, if needed
 	
     List<Transaction> findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(String sourceAccountNumber, String targetAccountNumber);
+
+    // Joins both accounts into the page query instead of a select per counterparty account
+    @Override
+    @EntityGraph(Transaction.WITH_ACCOUNTS)
+    Page<Transaction> findAll(Specification<Transaction> specification, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.webapp.bankingportal.dto.StatementLine(t.id, t.transactionDate, t.transactionType, "
+            + "t.amount, s.accountNumber, tg.accountNumber, t.sourceBalanceAfter, t.targetBalanceAfter) "
+            + "FROM Transaction t JOIN t.sourceAccount s LEFT JOIN t.targetAccount tg "
+            + "WHERE (s.id = :accountId OR tg.id = :accountId) "
+            + "AND t.transactionDate >= :from AND t.transactionDate < :to "
+            + "ORDER BY t.transactionDate, t.id")
+    Stream<StatementLine> streamStatementLines(@Param("accountId") Long accountId, @Param("from") Date from,
+            @Param("to") Date to);
+
+    @Query("SELECT t FROM Transaction t "
+            + "WHERE (t.sourceAccount.accountNumber = :accountNumber OR t.targetAccount.accountNumber = :accountNumber) "
+            + "AND t.transactionDate >= :from AND t.transactionDate < :to")
+    List<Transaction> findByAccountNumberAndDateRange(@Param("accountNumber") String accountNumber,
+            @Param("from") Date from, @Param("to") Date to);
+
+    @Query("SELECT t.id FROM Transaction t WHERE t.transactionDate < :cutoff ORDER BY t.id")
+    List<Long> findIdsPostedBefore(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Query("SELECT new com.webapp.bankingportal.entity.ArchivedTransaction(t.id, t.amount, t.transactionType, "
+            + "t.transactionDate, s.accountNumber, tg.accountNumber, t.sourceBalanceAfter, t.targetBalanceAfter) "
+            + "FROM Transaction t JOIN t.sourceAccount s LEFT JOIN t.targetAccount tg WHERE t.id IN :ids")
+    List<ArchivedTransaction> findArchiveCopies(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,54 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+
+/**
+ * Filters for transaction searches. Accounts are matched on the foreign key
+ * columns rather than through a join, so each filter shape maps onto one of
+ * the composite indexes declared on {@link Transaction}.
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<Transaction> involvesAccount(Long accountId) {
+        return (root, query, cb) -> cb.or(
+                cb.equal(root.get("sourceAccount").get("id"), accountId),
+                cb.equal(root.get("targetAccount").get("id"), accountId));
+    }
+
+    public static Specification<Transaction> betweenAccounts(Long accountId, Long counterpartyId) {
+        return (root, query, cb) -> cb.or(
+                cb.and(cb.equal(root.get("sourceAccount").get("id"), accountId),
+                        cb.equal(root.get("targetAccount").get("id"), counterpartyId)),
+                cb.and(cb.equal(root.get("sourceAccount").get("id"), counterpartyId),
+                        cb.equal(root.get("targetAccount").get("id"), accountId)));
+    }
+
+    public static Specification<Transaction> hasType(TransactionType transactionType) {
+        return (root, query, cb) -> cb.equal(root.get("transactionType"), transactionType);
+    }
+
+    public static Specification<Transaction> postedOnOrAfter(Date from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("transactionDate"), from);
+    }
+
+    public static Specification<Transaction> postedBefore(Date to) {
+        return (root, query, cb) -> cb.lessThan(root.get("transactionDate"), to);
+    }
+
+    public static Specification<Transaction> amountAtLeast(double minAmount) {
+        return (root, query, cb) -> cb.ge(root.get("amount"), minAmount);
+    }
+
+    public static Specification<Transaction> amountAtMost(double maxAmount) {
+        return (root, query, cb) -> cb.le(root.get("amount"), maxAmount);
+    }
+
+}
@@ -1,18 +1,47 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webapp.bankingportal.dto.UserCredentials;
 import com.webapp.bankingportal.entity.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @EntityGraph(User.WITH_ACCOUNT)
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByPhoneNumber(String phoneNumber);
-
+    @EntityGraph(User.WITH_ACCOUNT)
     Optional<User> findByAccountAccountNumber(String accountNumber);
+
+    boolean existsByEmail(String email);
+
+    boolean existsByPhoneNumber(String phoneNumber);
+
+    boolean existsByAccountAccountNumber(String accountNumber);
+
+    // Authentication only needs the hash and role, not the user and its account
+    @Query("SELECT new com.webapp.bankingportal.dto.UserCredentials(u.password, u.role) "
+            + "FROM User u WHERE u.account.accountNumber = :accountNumber")
+    Optional<UserCredentials> findCredentialsByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.phoneNumber FROM User u WHERE u.phoneNumber IN :phoneNumbers")
+    List<String> findExistingPhoneNumbers(@Param("phoneNumbers") Collection<String> phoneNumbers);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :currentPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("currentPassword") String currentPassword,
+            @Param("newPassword") String newPassword);
 }
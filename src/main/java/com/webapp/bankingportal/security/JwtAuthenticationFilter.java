@@ -2,6 +2,7 @@ package com.webapp.bankingportal.security;
 
 import java.io.IOException;
 
+import org.slf4j.MDC;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.logging.RequestLoggingFilter;
 import com.webapp.bankingportal.service.TokenService;
 
 import jakarta.servlet.FilterChain;
@@ -92,6 +94,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authToken);
+        MDC.put(RequestLoggingFilter.ACCOUNT_NUMBER, username);
 
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,61 @@
+package com.webapp.bankingportal.security;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.val;
+
+/**
+ * BCrypt encoder with a configurable cost that reports any stored hash whose
+ * cost differs from the configured one as needing an upgrade. The stock
+ * {@link BCryptPasswordEncoder} only upgrades weaker hashes, which means a
+ * cost that was lowered for throughput would never be picked up.
+ */
+public class TunableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    public static final String ENCODING_ID = "bcrypt";
+
+    private static final Pattern BCRYPT_PATTERN = Pattern
+            .compile("\\A\\$2(a|y|b)?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+
+    public TunableBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Builds the delegating encoder used for a credential type. New hashes are
+     * written as {@code {bcrypt}<hash>} with the given cost, while legacy hashes
+     * stored without an id prefix are still matched and flagged for upgrade.
+     *
+     * @param strength The BCrypt cost (log rounds) for newly encoded values
+     * @return The delegating password encoder
+     */
+    public static PasswordEncoder delegating(int strength) {
+        val encoder = new DelegatingPasswordEncoder(ENCODING_ID,
+                Map.of(ENCODING_ID, new TunableBCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+
+        val matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        return Integer.parseInt(matcher.group(2)) != strength;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.webapp.bankingportal.service;
+
+public interface AccountNumberService {
+
+    public String nextAccountNumber();
+
+}
@@ -0,0 +1,165 @@
+package com.webapp.bankingportal.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.AccountNumberSequence;
+import com.webapp.bankingportal.repository.AccountNumberSequenceRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Allocates account numbers from a shared sequence without probing the
+ * account table.
+ *
+ * Each instance reserves a block of sequence positions in its own short
+ * transaction and hands them out from memory, so only one registration per
+ * block touches the database. A position is written in base 36 and followed
+ * by a Luhn mod 36 check character, which catches any single mistyped
+ * character and most adjacent transpositions.
+ *
+ * The first character of a generated number is always g-z. Numbers issued
+ * before this allocator were six random hex characters, so the two can never
+ * collide.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountNumberServiceImpl implements AccountNumberService {
+
+    private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int RADIX = ALPHABET.length();
+    private static final int FIRST_NON_HEX_DIGIT = 16;
+
+    private final AccountNumberSequenceRepository accountNumberSequenceRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${account.number.length:6}")
+    private int length;
+
+    @Value("${account.number.block-size:100}")
+    private long blockSize;
+
+    private TransactionTemplate transactionTemplate;
+    private long offset;
+    private long capacity;
+    private long next;
+    private long limit;
+
+    @PostConstruct
+    void init() {
+        if (length < 3 || length > 12) {
+            throw new IllegalArgumentException("account.number.length must be between 3 and 12");
+        }
+
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("account.number.block-size must be positive");
+        }
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        val scale = pow(RADIX, length - 2);
+        offset = FIRST_NON_HEX_DIGIT * scale;
+        capacity = (RADIX - FIRST_NON_HEX_DIGIT) * scale;
+    }
+
+    @Override
+    public synchronized String nextAccountNumber() {
+        if (next == limit) {
+            next = reserveBlock();
+            limit = next + blockSize;
+        }
+
+        val position = next++;
+        if (position >= capacity) {
+            throw new IllegalStateException("Account number space of length " + length + " is exhausted");
+        }
+
+        val body = Long.toString(offset + position, RADIX);
+        return body + checkCharacter(body);
+    }
+
+    /**
+     * Computes the Luhn mod 36 check character for a lowercase base 36 string.
+     *
+     * @param body The account number without its check character
+     * @return The check character
+     */
+    public static char checkCharacter(String body) {
+        var factor = 2;
+        var sum = 0;
+
+        for (int i = body.length() - 1; i >= 0; i--) {
+            val addend = factor * ALPHABET.indexOf(body.charAt(i));
+            sum += addend / RADIX + addend % RADIX;
+            factor = factor == 2 ? 1 : 2;
+        }
+
+        return ALPHABET.charAt((RADIX - sum % RADIX) % RADIX);
+    }
+
+    /**
+     * Checks whether an account number ends in the correct check character.
+     * Numbers issued before this allocator carry no check character and fail
+     * this check.
+     */
+    public static boolean hasValidCheckCharacter(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < 2) {
+            return false;
+        }
+
+        val body = accountNumber.substring(0, accountNumber.length() - 1);
+        for (int i = 0; i < body.length(); i++) {
+            if (ALPHABET.indexOf(body.charAt(i)) < 0) {
+                return false;
+            }
+        }
+
+        return checkCharacter(body) == accountNumber.charAt(accountNumber.length() - 1);
+    }
+
+    // Runs in its own transaction so a reserved block is never rolled back
+    // along with a failed registration and handed out twice
+    private long reserveBlock() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                val start = transactionTemplate.execute(status -> {
+                    if (accountNumberSequenceRepository.advance(AccountNumberSequence.ID, blockSize) == 0) {
+                        accountNumberSequenceRepository
+                                .saveAndFlush(new AccountNumberSequence(AccountNumberSequence.ID, blockSize));
+                        return 0L;
+                    }
+
+                    return accountNumberSequenceRepository.findNextValue(AccountNumberSequence.ID) - blockSize;
+                });
+
+                log.debug("Reserved account number positions {} to {}", start, start + blockSize - 1);
+                return start;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the sequence row first
+                log.debug("Account number sequence was initialised concurrently, retrying");
+            }
+        }
+
+        throw new IllegalStateException("Could not reserve a block of account numbers");
+    }
+
+    private static long pow(long base, int exponent) {
+        var result = 1L;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+
+        return result;
+    }
+
+}
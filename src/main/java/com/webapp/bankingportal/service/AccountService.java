@@ -1,17 +1,30 @@
 package com.webapp.bankingportal.service;
 
+import java.util.List;
+
+import com.webapp.bankingportal.dto.BatchFundTransferResponse;
+import com.webapp.bankingportal.dto.BatchTransferItem;
+import com.webapp.bankingportal.dto.PinSession;
+import com.webapp.bankingportal.dto.PinSessionResponse;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.User;
 
 public interface AccountService {
 
 	public Account createAccount(User user);
+
+	public Account newAccount(User user);
 	public boolean isPinCreated(String accountNumber) ;
 	public void createPin(String accountNumber, String password, String pin) ;
 	public void updatePin(String accountNumber, String oldPIN, String password, String newPIN);
+	public PinSessionResponse openPinSession(String accountNumber, String pin, String bearerToken);
 	public void cashDeposit(String accountNumber, String pin, double amount);
+	public void cashDeposit(String accountNumber, PinSession pinSession, double amount);
 	public void cashWithdrawal(String accountNumber, String pin, double amount);
+	public void cashWithdrawal(String accountNumber, PinSession pinSession, double amount);
 	public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, double amount);
+	public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, PinSession pinSession, double amount);
+	public BatchFundTransferResponse batchFundTransfer(String sourceAccountNumber, String pin, List<BatchTransferItem> transfers);
 	
 	
 }
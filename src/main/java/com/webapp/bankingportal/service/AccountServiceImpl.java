@@ -1,12 +1,25 @@
 package com.webapp.bankingportal.service;
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.UUID;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.webapp.bankingportal.datasource.ReadYourWritesGuard;
+import com.webapp.bankingportal.dto.BatchFundTransferResponse;
+import com.webapp.bankingportal.dto.BatchTransferItem;
+import com.webapp.bankingportal.dto.BatchTransferResult;
+import com.webapp.bankingportal.dto.PinSession;
+import com.webapp.bankingportal.dto.PinSessionResponse;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.Transaction;
 import com.webapp.bankingportal.entity.TransactionType;
@@ -17,10 +30,15 @@ import com.webapp.bankingportal.exception.InvalidAmountException;
 import com.webapp.bankingportal.exception.InvalidPinException;
 import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.exception.UnauthorizedException;
+import com.webapp.bankingportal.metrics.BusinessMetrics;
+import com.webapp.bankingportal.metrics.ServiceMetrics;
 import com.webapp.bankingportal.repository.AccountRepository;
 import com.webapp.bankingportal.repository.TransactionRepository;
 import com.webapp.bankingportal.util.ApiMessages;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -33,17 +51,50 @@ public class AccountServiceImpl implements AccountService {
 @Autowired
     private final AccountRepository accountRepository;
     @Autowired
+    private final AccountNumberService accountNumberService;
+    @Autowired
     private final PasswordEncoder passwordEncoder;
     @Autowired
+    @Qualifier("pinEncoder")
+    private final PasswordEncoder pinEncoder;
+    @Autowired
     private final TransactionRepository transactionRepository;
+    @Autowired
+    private final CredentialUpgradeService credentialUpgradeService;
+    @Autowired
+    private final PinSessionService pinSessionService;
+    @Autowired
+    private final LedgerService ledgerService;
+    @Autowired
+    private final TransactionAggregateService transactionAggregateService;
+    @Autowired
+    private final EntityManager entityManager;
+    @Autowired
+    private final ServiceMetrics serviceMetrics;
+    @Autowired
+    private final BusinessMetrics businessMetrics;
+    @Autowired
+    private final ReadYourWritesGuard readYourWrites;
+
+    @Value("${account.transfer.batch-max-size:1000}")
+    private int batchTransferMaxSize;
 
     @Override
     public Account createAccount(User user) {
+        return accountRepository.save(newAccount(user));
+    }
+
+    /**
+     * Builds an unsaved account for a user, to be persisted along with the
+     * user through the cascade on {@link User#getAccount()}.
+     */
+    @Override
+    public Account newAccount(User user) {
         val account = new Account();
-        account.setAccountNumber(generateUniqueAccountNumber());
+        account.setAccountNumber(accountNumberService.nextAccountNumber());
         account.setBalance(0.0);
         account.setUser(user);
-        return accountRepository.save(account);
+        return account;
     }
 
     @Override
@@ -56,17 +107,12 @@ public class AccountServiceImpl implements AccountService {
         return account.getPin() != null;
     }
 
-    private String generateUniqueAccountNumber() {
-        String accountNumber;
-        do {
-            // Generate a UUID as the account number
-            accountNumber = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 6);
-        } while (accountRepository.findByAccountNumber(accountNumber) != null);
-
-        return accountNumber;
+    private void validatePin(String accountNumber, String pin) {
+        // PIN checks run inside the public operations, so they are timed here rather than by the aspect
+        serviceMetrics.record(AccountServiceImpl.class, "validatePin", () -> checkPin(accountNumber, pin));
     }
 
-    private void validatePin(String accountNumber, String pin) {
+    private void checkPin(String accountNumber, String pin) {
         val account = accountRepository.findByAccountNumber(accountNumber);
         if (account == null) {
             throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
@@ -80,13 +126,18 @@ public class AccountServiceImpl implements AccountService {
             throw new UnauthorizedException(ApiMessages.PIN_EMPTY_ERROR.getMessage());
         }
 
-        if (!passwordEncoder.matches(pin, account.getPin())) {
+        if (!pinEncoder.matches(pin, account.getPin())) {
+            businessMetrics.wrongPin();
             throw new UnauthorizedException(ApiMessages.PIN_INVALID_ERROR.getMessage());
         }
+
+        if (pinEncoder.upgradeEncoding(account.getPin())) {
+            credentialUpgradeService.upgradePinHash(account.getId(), pin, account.getPin());
+        }
     }
 
     private void validatePassword(String accountNumber, String password) {
-        val account = accountRepository.findByAccountNumber(accountNumber);
+        val account = accountRepository.findWithUserByAccountNumber(accountNumber);
         if (account == null) {
             throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
         }
@@ -109,15 +160,9 @@ public class AccountServiceImpl implements AccountService {
             throw new UnauthorizedException(ApiMessages.PIN_ALREADY_EXISTS.getMessage());
         }
 
-        if (pin == null || pin.isEmpty()) {
-            throw new InvalidPinException(ApiMessages.PIN_EMPTY_ERROR.getMessage());
-        }
+        validateNewPin(pin);
 
-        if (!pin.matches("[0-9]{4}")) {
-            throw new InvalidPinException(ApiMessages.PIN_FORMAT_INVALID_ERROR.getMessage());
-        }
-
-        account.setPin(passwordEncoder.encode(pin));
+        account.setPin(pinEncoder.encode(pin));
         accountRepository.save(account);
     }
 
@@ -130,16 +175,29 @@ public class AccountServiceImpl implements AccountService {
 
         val account = accountRepository.findByAccountNumber(accountNumber);
 
-        if (newPin == null || newPin.isEmpty()) {
+        validateNewPin(newPin);
+
+        account.setPin(pinEncoder.encode(newPin));
+        accountRepository.save(account);
+        pinSessionService.revokeAll(accountNumber);
+    }
+
+    private void validateNewPin(String pin) {
+        if (pin == null || pin.isEmpty()) {
+            businessMetrics.malformedPin();
             throw new InvalidPinException(ApiMessages.PIN_EMPTY_ERROR.getMessage());
         }
 
-        if (!newPin.matches("[0-9]{4}")) {
+        if (!pin.matches("[0-9]{4}")) {
+            businessMetrics.malformedPin();
             throw new InvalidPinException(ApiMessages.PIN_FORMAT_INVALID_ERROR.getMessage());
         }
+    }
 
-        account.setPin(passwordEncoder.encode(newPin));
-        accountRepository.save(account);
+    @Override
+    public PinSessionResponse openPinSession(String accountNumber, String pin, String bearerToken) {
+        validatePin(accountNumber, pin);
+        return pinSessionService.issue(accountNumber, bearerToken);
     }
 
     private void validateAmount(double amount) {
@@ -156,13 +214,54 @@ public class AccountServiceImpl implements AccountService {
         }
     }
 
+    /**
+     * Locks the account row for the rest of the transaction and reloads it. The
+     * PIN check runs before any lock is taken and leaves an unlocked copy of the
+     * account in the persistence context, which a concurrent posting may have
+     * made stale in the meantime.
+     */
+    private void lock(Account account) {
+        entityManager.refresh(account, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    /**
+     * Saves a transaction whose balance changes have been applied, together with
+     * its ledger entries and daily aggregates. Both accounts read from the
+     * primary for a while after the commit, so their owners see the posting.
+     */
+    private void post(Transaction transaction) {
+        transactionRepository.save(transaction);
+        ledgerService.post(transaction);
+        transactionAggregateService.record(transaction);
+        businessMetrics.transactionPosted(transaction.getTransactionType(), transaction.getAmount());
+        readYourWrites.recordWrite(accountNumber(transaction.getSourceAccount()),
+                accountNumber(transaction.getTargetAccount()));
+    }
+
+    private static String accountNumber(Account account) {
+        return account != null ? account.getAccountNumber() : null;
+    }
+
     @Transactional
     @Override
     public void cashDeposit(String accountNumber, String pin, double amount) {
         validatePin(accountNumber, pin);
+        deposit(accountNumber, amount);
+    }
+
+    @Transactional
+    @Override
+    public void cashDeposit(String accountNumber, PinSession pinSession, double amount) {
+        pinSessionService.authorize(pinSession, accountNumber, amount);
+        deposit(accountNumber, amount);
+    }
+
+    private void deposit(String accountNumber, double amount) {
         validateAmount(amount);
 
         val account = accountRepository.findByAccountNumber(accountNumber);
+        lock(account);
+
         val currentBalance = account.getBalance();
         val newBalance = currentBalance + amount;
         account.setBalance(newBalance);
@@ -173,18 +272,33 @@ public class AccountServiceImpl implements AccountService {
         transaction.setTransactionType(TransactionType.CASH_DEPOSIT);
         transaction.setTransactionDate(new Date());
         transaction.setSourceAccount(account);
-        transactionRepository.save(transaction);
+        transaction.setSourceBalanceAfter(newBalance);
+        post(transaction);
     }
 
     @Transactional
     @Override
     public void cashWithdrawal(String accountNumber, String pin, double amount) {
         validatePin(accountNumber, pin);
+        withdraw(accountNumber, amount);
+    }
+
+    @Transactional
+    @Override
+    public void cashWithdrawal(String accountNumber, PinSession pinSession, double amount) {
+        pinSessionService.authorize(pinSession, accountNumber, amount);
+        withdraw(accountNumber, amount);
+    }
+
+    private void withdraw(String accountNumber, double amount) {
         validateAmount(amount);
 
         val account = accountRepository.findByAccountNumber(accountNumber);
+        lock(account);
+
         val currentBalance = account.getBalance();
         if (currentBalance < amount) {
+            businessMetrics.balanceCheckFailed();
             throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
         }
 
@@ -197,13 +311,26 @@ public class AccountServiceImpl implements AccountService {
         transaction.setTransactionType(TransactionType.CASH_WITHDRAWAL);
         transaction.setTransactionDate(new Date());
         transaction.setSourceAccount(account);
-        transactionRepository.save(transaction);
+        transaction.setSourceBalanceAfter(newBalance);
+        post(transaction);
     }
 
     @Transactional
     @Override
     public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, double amount) {
         validatePin(sourceAccountNumber, pin);
+        transfer(sourceAccountNumber, targetAccountNumber, amount);
+    }
+
+    @Transactional
+    @Override
+    public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, PinSession pinSession,
+            double amount) {
+        pinSessionService.authorize(pinSession, sourceAccountNumber, amount);
+        transfer(sourceAccountNumber, targetAccountNumber, amount);
+    }
+
+    private void transfer(String sourceAccountNumber, String targetAccountNumber, double amount) {
         validateAmount(amount);
 
         if (sourceAccountNumber.equals(targetAccountNumber)) {
@@ -215,9 +342,19 @@ public class AccountServiceImpl implements AccountService {
             throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
         }
 
+        // Lock both rows in id order so that opposing transfers cannot deadlock
         val sourceAccount = accountRepository.findByAccountNumber(sourceAccountNumber);
+        if (sourceAccount.getId() < targetAccount.getId()) {
+            lock(sourceAccount);
+            lock(targetAccount);
+        } else {
+            lock(targetAccount);
+            lock(sourceAccount);
+        }
+
         val sourceBalance = sourceAccount.getBalance();
         if (sourceBalance < amount) {
+            businessMetrics.balanceCheckFailed();
             throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
         }
 
@@ -236,7 +373,97 @@ public class AccountServiceImpl implements AccountService {
         transaction.setTransactionDate(new Date());
         transaction.setSourceAccount(sourceAccount);
         transaction.setTargetAccount(targetAccount);
-        transactionRepository.save(transaction);
+        transaction.setSourceBalanceAfter(newSourceBalance);
+        transaction.setTargetBalanceAfter(newTargetBalance);
+        post(transaction);
+    }
+
+    /**
+     * Posts a batch of transfers from one source account in a single database
+     * transaction. The PIN is verified once, before any row is locked, so the
+     * BCrypt check does not extend lock hold time. The source and all targets
+     * are then locked with one IN query in id order, the order a single
+     * transfer locks its two rows in, so the two cannot deadlock.
+     *
+     * Items are applied in order against the running source balance. An item
+     * that fails validation is reported in the results and skipped; it does not
+     * abort the rest of the batch.
+     */
+    @Transactional
+    @Override
+    public BatchFundTransferResponse batchFundTransfer(String sourceAccountNumber, String pin,
+            List<BatchTransferItem> transfers) {
+        if (transfers == null || transfers.isEmpty() || transfers.size() > batchTransferMaxSize) {
+            throw new FundTransferException(
+                    String.format(ApiMessages.BATCH_TRANSFER_SIZE_ERROR.getMessage(), batchTransferMaxSize));
+        }
+
+        validatePin(sourceAccountNumber, pin);
+
+        val sourceAccount = accountRepository.findByAccountNumber(sourceAccountNumber);
+
+        val lockedAccountNumbers = transfers.stream()
+                .map(BatchTransferItem::targetAccountNumber)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        lockedAccountNumbers.add(sourceAccountNumber);
+        val targetAccounts = accountRepository.findForUpdateByAccountNumberIn(lockedAccountNumbers).stream()
+                .filter(account -> !account.getAccountNumber().equals(sourceAccountNumber))
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        // Loaded by the PIN check before the lock, so its balance is read again now the row is held
+        entityManager.refresh(sourceAccount);
+
+        val transactionDate = new Date();
+        val results = new ArrayList<BatchTransferResult>(transfers.size());
+        var succeeded = 0;
+
+        for (int i = 0; i < transfers.size(); i++) {
+            val item = transfers.get(i);
+
+            try {
+                validateAmount(item.amount());
+
+                if (sourceAccountNumber.equals(item.targetAccountNumber())) {
+                    throw new FundTransferException(ApiMessages.CASH_TRANSFER_SAME_ACCOUNT_ERROR.getMessage());
+                }
+
+                val targetAccount = targetAccounts.get(item.targetAccountNumber());
+                if (targetAccount == null) {
+                    throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+                }
+
+                if (sourceAccount.getBalance() < item.amount()) {
+                    businessMetrics.balanceCheckFailed();
+                    throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
+                }
+
+                sourceAccount.setBalance(sourceAccount.getBalance() - item.amount());
+                targetAccount.setBalance(targetAccount.getBalance() + item.amount());
+
+                val transaction = new Transaction();
+                transaction.setAmount(item.amount());
+                transaction.setTransactionType(TransactionType.CASH_TRANSFER);
+                transaction.setTransactionDate(transactionDate);
+                transaction.setSourceAccount(sourceAccount);
+                transaction.setTargetAccount(targetAccount);
+                transaction.setSourceBalanceAfter(sourceAccount.getBalance());
+                transaction.setTargetBalanceAfter(targetAccount.getBalance());
+                post(transaction);
+
+                results.add(BatchTransferResult.success(i, item));
+                succeeded++;
+
+            } catch (InvalidAmountException | FundTransferException | NotFoundException
+                    | InsufficientBalanceException e) {
+                results.add(BatchTransferResult.failure(i, item, e.getMessage()));
+            }
+        }
+
+        log.info("Batch transfer from {}: {} succeeded, {} failed",
+                sourceAccountNumber, succeeded, transfers.size() - succeeded);
+
+        return new BatchFundTransferResponse(succeeded, transfers.size() - succeeded, results);
     }
 
 }
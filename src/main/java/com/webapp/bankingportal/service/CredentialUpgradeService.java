@@ -0,0 +1,13 @@
+package com.webapp.bankingportal.service;
+
+import org.springframework.scheduling.annotation.Async;
+
+public interface CredentialUpgradeService {
+
+    @Async
+    public void upgradePasswordHash(Long userId, String rawPassword, String currentHash);
+
+    @Async
+    public void upgradePinHash(Long accountId, String rawPin, String currentHash);
+
+}
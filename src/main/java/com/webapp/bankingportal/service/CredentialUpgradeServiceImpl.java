@@ -0,0 +1,57 @@
+package com.webapp.bankingportal.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-hashes credentials whose stored encoding no longer matches the configured
+ * cost. Callers verify the raw value first and only dispatch here when
+ * {@link PasswordEncoder#upgradeEncoding(String)} reports a mismatch, so the
+ * extra hash runs off the request thread and at most once per credential.
+ *
+ * The update is a compare-and-set on the old hash, which keeps it from
+ * overwriting a PIN or password that was changed in the meantime and from
+ * touching any other column of the row.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CredentialUpgradeServiceImpl implements CredentialUpgradeService {
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    @Qualifier("pinEncoder")
+    private final PasswordEncoder pinEncoder;
+
+    @Override
+    @Async
+    @Transactional
+    public void upgradePasswordHash(Long userId, String rawPassword, String currentHash) {
+        val updated = userRepository.updatePasswordIfUnchanged(
+                userId, currentHash, passwordEncoder.encode(rawPassword));
+
+        log.info("Password hash upgrade for user {}: {}", userId, updated == 1 ? "done" : "skipped");
+    }
+
+    @Override
+    @Async
+    @Transactional
+    public void upgradePinHash(Long accountId, String rawPin, String currentHash) {
+        val updated = accountRepository.updatePinIfUnchanged(
+                accountId, currentHash, pinEncoder.encode(rawPin));
+
+        log.info("PIN hash upgrade for account {}: {}", accountId, updated == 1 ? "done" : "skipped");
+    }
+
+}
@@ -2,6 +2,7 @@ package com.webapp.bankingportal.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.webapp.bankingportal.dto.AccountResponse;
 import com.webapp.bankingportal.dto.UserResponse;
@@ -15,6 +16,7 @@ import lombok.val;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class DashboardServiceImpl implements DashboardService {
 @Autowired
     private final UserRepository userRepository;
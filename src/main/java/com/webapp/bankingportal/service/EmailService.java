@@ -14,4 +14,8 @@ public interface EmailService {
     public String getOtpLoginEmailTemplate(String name, String accountNumber, String otp);
 
     public String getBankStatementEmailTemplate(String name, String statementText);
+
+    @Async
+    public CompletableFuture<Void> sendEmailWithAttachment(String to, String subject, String text,
+            String attachmentFilePath);
 }
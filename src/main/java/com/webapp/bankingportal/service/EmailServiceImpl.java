@@ -3,12 +3,18 @@ package com.webapp.bankingportal.service;
 import java.io.File;
 import java.util.concurrent.CompletableFuture;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.webapp.bankingportal.tracing.Spans;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 import jakarta.mail.MessagingException;
 
 import lombok.val;
@@ -19,14 +25,23 @@ import lombok.extern.slf4j.Slf4j;
 public class EmailServiceImpl implements EmailService {
 
     private final JavaMailSender mailSender;
+    private final ObservationRegistry observationRegistry;
 
-    public EmailServiceImpl(JavaMailSender mailSender) {
+    // Resolved on the first email, so the mail sender can be initialized lazily
+    public EmailServiceImpl(@Lazy JavaMailSender mailSender, ObservationRegistry observationRegistry) {
         this.mailSender = mailSender;
+        this.observationRegistry = observationRegistry;
     }
 
     @Override
     @Async
     public CompletableFuture<Void> sendEmail(String to, String subject, String text) {
+        val observation = Observation.createNotStarted(Spans.EMAIL, observationRegistry)
+                .lowCardinalityKeyValue("subject", subject);
+        return Spans.observe(observation, () -> send(to, subject, text));
+    }
+
+    private CompletableFuture<Void> send(String to, String subject, String text) {
         val future = new CompletableFuture<Void>();
 
         try {
@@ -113,7 +128,12 @@ public class EmailServiceImpl implements EmailService {
                 "</div>";
     }
 
-    public void sendEmailWithAttachment(String to, String subject, String text, String attachmentFilePath) {
+    @Override
+    @Async
+    public CompletableFuture<Void> sendEmailWithAttachment(String to, String subject, String text,
+            String attachmentFilePath) {
+        val future = new CompletableFuture<Void>();
+
         try {
             val message = mailSender.createMimeMessage();
             val helper = new MimeMessageHelper(message, true);
@@ -126,10 +146,14 @@ public class EmailServiceImpl implements EmailService {
             helper.addAttachment(attachmentFile.getName(), attachmentFile);
 
             mailSender.send(message);
-        } catch (MessagingException e) {
+            future.complete(null);
+
+        } catch (MessagingException | MailException e) {
             log.error("Failed to send email to {}", to, e);
+            future.completeExceptionally(e);
         }
-    }
 
+        return future;
+    }
 
 }
@@ -12,12 +12,18 @@ import org.springframework.web.client.RestTemplate;
 
 import com.webapp.bankingportal.dto.GeolocationResponse;
 import com.webapp.bankingportal.exception.GeolocationException;
+import com.webapp.bankingportal.tracing.Spans;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class GeolocationServiceImpl implements GeolocationService {
 
     @Value("${geo.api.url}")
@@ -26,9 +32,17 @@ public class GeolocationServiceImpl implements GeolocationService {
     @Value("${geo.api.key}")
     private String apiKey;
 
+    private final ObservationRegistry observationRegistry;
+
     @Override
     @Async
     public CompletableFuture<GeolocationResponse> getGeolocation(String ip) {
+        val observation = Observation.createNotStarted(Spans.GEOLOCATION, observationRegistry)
+                .highCardinalityKeyValue("ip", ip);
+        return Spans.observe(observation, () -> lookup(ip));
+    }
+
+    private CompletableFuture<GeolocationResponse> lookup(String ip) {
         val future = new CompletableFuture<GeolocationResponse>();
 
         try {
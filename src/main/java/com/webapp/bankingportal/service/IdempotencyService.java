@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.service;
+
+import java.util.function.Supplier;
+
+import com.webapp.bankingportal.dto.IdempotentResponse;
+
+public interface IdempotencyService {
+
+    public IdempotentResponse execute(String accountNumber, String idempotencyKey, String endpoint, Object request,
+            Supplier<String> operation);
+
+    public void purgeExpired();
+
+}
@@ -0,0 +1,192 @@
+package com.webapp.bankingportal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.webapp.bankingportal.dto.IdempotentResponse;
+import com.webapp.bankingportal.entity.IdempotencyRecord;
+import com.webapp.bankingportal.exception.IdempotencyConflictException;
+import com.webapp.bankingportal.repository.IdempotencyRecordRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import io.jsonwebtoken.io.Decoders;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs money operations at most once per (account, idempotency key).
+ *
+ * The key is claimed by inserting an {@link IdempotencyRecord} in the same
+ * transaction as the operation itself, so the unique index on the record
+ * decides which of several concurrent retries gets to post. The losers block on
+ * the index until the winner commits and then replay its stored response. A
+ * failed operation rolls the claim back along with everything else and its
+ * error reaches the client unchanged, so the client can retry it with the same
+ * key.
+ *
+ * Requests are compared by an HMAC of their body keyed with the server secret,
+ * so the stored hash does not give away the PIN the request carried.
+ *
+ * Completed responses are also kept in a bounded local cache so that most
+ * replays are answered without a database round trip.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final String HASH_ALGORITHM = "HmacSHA256";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${idempotency.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${idempotency.in-flight-wait-millis:5000}")
+    private long inFlightWaitMillis;
+
+    private TransactionTemplate transactionTemplate;
+    private Cache<String, IdempotencyRecord> completed;
+    private SecretKeySpec hashKey;
+
+    @PostConstruct
+    void init() {
+        hashKey = new SecretKeySpec(Decoders.BASE64.decode(secret), HASH_ALGORITHM);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(retentionHours, TimeUnit.HOURS)
+                .build();
+    }
+
+    @Override
+    public IdempotentResponse execute(String accountNumber, String idempotencyKey, String endpoint, Object request,
+            Supplier<String> operation) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(ApiMessages.IDEMPOTENCY_KEY_INVALID_ERROR.getMessage());
+        }
+
+        val cacheKey = accountNumber + ":" + idempotencyKey;
+        val requestHash = hash(endpoint + "\n" + JsonUtil.toJson(request));
+
+        val cached = completed.getIfPresent(cacheKey);
+        if (cached != null) {
+            return replay(cached, endpoint, requestHash);
+        }
+
+        val existing = idempotencyRecordRepository.findByAccountNumberAndIdempotencyKey(accountNumber,
+                idempotencyKey);
+        if (existing.isPresent()) {
+            completed.put(cacheKey, existing.get());
+            return replay(existing.get(), endpoint, requestHash);
+        }
+
+        // Only a failed claim means another request holds the key; failures of the operation itself are rethrown
+        val claimed = new AtomicBoolean();
+        try {
+            val record = transactionTemplate.execute(status -> {
+                val claim = idempotencyRecordRepository.saveAndFlush(
+                        new IdempotencyRecord(idempotencyKey, accountNumber, endpoint, requestHash));
+                claimed.set(true);
+                claim.setResponseBody(operation.get());
+                return claim;
+            });
+
+            completed.put(cacheKey, record);
+            return new IdempotentResponse(record.getResponseBody(), false);
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            if (claimed.get()) {
+                throw e;
+            }
+
+            log.info("Idempotency key {} for account {} was claimed concurrently", idempotencyKey, accountNumber);
+            val winner = awaitCompleted(accountNumber, idempotencyKey);
+            completed.put(cacheKey, winner);
+            return replay(winner, endpoint, requestHash);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-millis:3600000}")
+    public void purgeExpired() {
+        val purged = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private IdempotencyRecord awaitCompleted(String accountNumber, String idempotencyKey) {
+        val deadline = System.currentTimeMillis() + inFlightWaitMillis;
+        while (true) {
+            val record = idempotencyRecordRepository.findByAccountNumberAndIdempotencyKey(accountNumber,
+                    idempotencyKey);
+            if (record.isPresent()) {
+                return record.get();
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IdempotencyConflictException(ApiMessages.IDEMPOTENCY_KEY_IN_PROGRESS_ERROR.getMessage());
+            }
+
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyConflictException(ApiMessages.IDEMPOTENCY_KEY_IN_PROGRESS_ERROR.getMessage());
+            }
+        }
+    }
+
+    private IdempotentResponse replay(IdempotencyRecord record, String endpoint, String requestHash) {
+        if (!record.getEndpoint().equals(endpoint) || !record.getRequestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException(ApiMessages.IDEMPOTENCY_KEY_REUSED_ERROR.getMessage());
+        }
+
+        return new IdempotentResponse(record.getResponseBody(), true);
+    }
+
+    private String hash(String value) {
+        try {
+            val mac = Mac.getInstance(HASH_ALGORITHM);
+            mac.init(hashKey);
+            val digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
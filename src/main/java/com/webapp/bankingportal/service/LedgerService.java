@@ -0,0 +1,18 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Date;
+
+import com.webapp.bankingportal.dto.LedgerReplayResult;
+import com.webapp.bankingportal.entity.Transaction;
+
+public interface LedgerService {
+
+    public void post(Transaction transaction);
+
+    public double getBalance(String accountNumber);
+
+    public double getBalanceAt(String accountNumber, Date asOf);
+
+    public LedgerReplayResult replay(int threads);
+
+}
@@ -0,0 +1,221 @@
+package com.webapp.bankingportal.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.dto.LedgerReplayResult;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.BalanceSnapshot;
+import com.webapp.bankingportal.entity.LedgerDirection;
+import com.webapp.bankingportal.entity.LedgerEntry;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.BalanceSnapshotRepository;
+import com.webapp.bankingportal.repository.LedgerEntryRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the double-entry ledger behind {@link Account#getBalance()}.
+ *
+ * {@link #post(Transaction)} must be called inside the posting transaction,
+ * after the account balances have been updated and while their rows are
+ * locked. It appends the debit and credit for the transaction and, every
+ * {@code ledger.snapshot-interval} entries of an account, a
+ * {@link BalanceSnapshot}. Accounts that already had a balance before their
+ * first ledger entry get an opening-balance entry, so the ledger always sums
+ * to the stored balance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerServiceImpl implements LedgerService {
+
+    private static final double BALANCE_TOLERANCE = 0.005;
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final AccountRepository accountRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${ledger.snapshot-interval:100}")
+    private long snapshotInterval;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void post(Transaction transaction) {
+        switch (transaction.getTransactionType()) {
+            case CASH_DEPOSIT, CASH_CREDIT -> {
+                postToInternalAccount(transaction, LedgerEntry.CASH_ACCOUNT, LedgerDirection.DEBIT);
+                postToAccount(transaction, transaction.getSourceAccount(), LedgerDirection.CREDIT);
+            }
+            case CASH_WITHDRAWAL -> {
+                postToAccount(transaction, transaction.getSourceAccount(), LedgerDirection.DEBIT);
+                postToInternalAccount(transaction, LedgerEntry.CASH_ACCOUNT, LedgerDirection.CREDIT);
+            }
+            case CASH_TRANSFER -> {
+                postToAccount(transaction, transaction.getSourceAccount(), LedgerDirection.DEBIT);
+                postToAccount(transaction, transaction.getTargetAccount(), LedgerDirection.CREDIT);
+            }
+        }
+    }
+
+    @Override
+    public double getBalance(String accountNumber) {
+        val snapshot = balanceSnapshotRepository.findFirstByAccountNumberOrderByEntryNumberDesc(accountNumber);
+        val base = snapshot.map(BalanceSnapshot::getBalance).orElse(0.0);
+        val after = snapshot.map(BalanceSnapshot::getEntryNumber).orElse(0L);
+
+        return base + ledgerEntryRepository.sumSignedAmountAfter(accountNumber, after);
+    }
+
+    @Override
+    public double getBalanceAt(String accountNumber, Date asOf) {
+        val snapshot = balanceSnapshotRepository
+                .findFirstByAccountNumberAndPostedAtLessThanEqualOrderByEntryNumberDesc(accountNumber, asOf);
+        val base = snapshot.map(BalanceSnapshot::getBalance).orElse(0.0);
+        val after = snapshot.map(BalanceSnapshot::getEntryNumber).orElse(0L);
+
+        return base + ledgerEntryRepository.sumSignedAmountAfterUpTo(accountNumber, after, asOf);
+    }
+
+    /**
+     * Rebuilds every account balance and its snapshots from the ledger. Each
+     * account is replayed in its own transaction with its row locked, and
+     * accounts are spread over {@code threads} workers. Accounts whose stored
+     * balance disagrees with the ledger are corrected and logged.
+     *
+     * Accounts without numbered ledger entries are left untouched; they have
+     * not posted since the ledger was introduced and their stored balance is
+     * the only record of it.
+     */
+    @Override
+    public LedgerReplayResult replay(int threads) {
+        val start = System.currentTimeMillis();
+        val accountNumbers = ledgerEntryRepository.findNumberedAccountNumbers();
+        val executor = Executors.newFixedThreadPool(Math.max(1, threads));
+
+        var corrected = 0;
+        var entries = 0L;
+        try {
+            val futures = accountNumbers.stream()
+                    .map(accountNumber -> executor.submit(
+                            () -> transactionTemplate.execute(status -> replayAccount(accountNumber))))
+                    .toList();
+
+            for (val future : futures) {
+                val replayed = future.get();
+                entries += replayed.entries();
+                corrected += replayed.corrected() ? 1 : 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ledger replay was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ledger replay failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        val result = new LedgerReplayResult(accountNumbers.size(), corrected, entries,
+                System.currentTimeMillis() - start);
+        log.info("Replayed {} ledger entries for {} accounts in {} ms, corrected {} balances",
+                result.entries(), result.accounts(), result.elapsedMillis(), result.corrected());
+
+        return result;
+    }
+
+    private AccountReplay replayAccount(String accountNumber) {
+        val account = accountRepository.findForUpdateByAccountNumber(accountNumber);
+        val entries = ledgerEntryRepository.findByAccountNumberOrderByEntryNumber(accountNumber);
+        balanceSnapshotRepository.deleteByAccountNumber(accountNumber);
+
+        var balance = 0.0;
+        val snapshots = new ArrayList<BalanceSnapshot>();
+        for (val entry : entries) {
+            balance += entry.getSignedAmount();
+            if (entry.getEntryNumber() % snapshotInterval == 0) {
+                snapshots.add(new BalanceSnapshot(accountNumber, entry.getEntryNumber(), balance,
+                        entry.getPostedAt()));
+            }
+        }
+        balanceSnapshotRepository.saveAll(snapshots);
+
+        if (account == null) {
+            log.warn("Ledger has entries for unknown account {}", accountNumber);
+            return new AccountReplay(entries.size(), false);
+        }
+
+        val corrected = Math.abs(account.getBalance() - balance) > BALANCE_TOLERANCE;
+        if (corrected) {
+            log.warn("Balance of account {} was {} but the ledger sums to {}",
+                    accountNumber, account.getBalance(), balance);
+            account.setBalance(balance);
+        }
+
+        if (!entries.isEmpty()) {
+            account.setLedgerEntryCount(entries.get(entries.size() - 1).getEntryNumber());
+        }
+
+        return new AccountReplay(entries.size(), corrected);
+    }
+
+    private void postToInternalAccount(Transaction transaction, String accountNumber, LedgerDirection direction) {
+        ledgerEntryRepository.save(new LedgerEntry(transaction.getId(), accountNumber, null, direction,
+                transaction.getAmount(), transaction.getTransactionDate()));
+    }
+
+    private void postToAccount(Transaction transaction, Account account, LedgerDirection direction) {
+        val postedAt = transaction.getTransactionDate();
+        val amount = transaction.getAmount();
+
+        if (account.getLedgerEntryCount() == 0) {
+            val openingBalance = account.getBalance() - (direction == LedgerDirection.CREDIT ? amount : -amount);
+            if (Math.abs(openingBalance) > BALANCE_TOLERANCE) {
+                val openingDirection = openingBalance > 0 ? LedgerDirection.CREDIT : LedgerDirection.DEBIT;
+                ledgerEntryRepository.save(new LedgerEntry(null, LedgerEntry.OPENING_BALANCE_ACCOUNT, null,
+                        openingDirection == LedgerDirection.CREDIT ? LedgerDirection.DEBIT : LedgerDirection.CREDIT,
+                        Math.abs(openingBalance), postedAt));
+                append(account, null, openingDirection, Math.abs(openingBalance), openingBalance, postedAt);
+            }
+        }
+
+        append(account, transaction, direction, amount, account.getBalance(), postedAt);
+    }
+
+    private void append(Account account, Transaction transaction, LedgerDirection direction, double amount,
+            double balanceAfter, Date postedAt) {
+        val entryNumber = account.getLedgerEntryCount() + 1;
+        account.setLedgerEntryCount(entryNumber);
+
+        val transactionId = transaction == null ? null : transaction.getId();
+        ledgerEntryRepository.save(new LedgerEntry(transactionId, account.getAccountNumber(), entryNumber,
+                direction, amount, postedAt));
+
+        if (entryNumber % snapshotInterval == 0) {
+            balanceSnapshotRepository.save(new BalanceSnapshot(account.getAccountNumber(), entryNumber,
+                    balanceAfter, postedAt));
+        }
+    }
+
+    private record AccountReplay(long entries, boolean corrected) {
+    }
+
+}
@@ -12,6 +12,7 @@ import com.webapp.bankingportal.entity.OtpInfo;
 import com.webapp.bankingportal.exception.AccountDoesNotExistException;
 import com.webapp.bankingportal.exception.InvalidOtpException;
 import com.webapp.bankingportal.exception.OtpRetryLimitExceededException;
+import com.webapp.bankingportal.metrics.BusinessMetrics;
 import com.webapp.bankingportal.repository.OtpInfoRepository;
 import com.webapp.bankingportal.util.ValidationUtil;
 import com.webapp.bankingportal.util.ApiMessages;
@@ -32,6 +33,7 @@ public class OtpServiceImpl implements OtpService {
     private final EmailService emailService;
     private final OtpInfoRepository otpInfoRepository;
     private final ValidationUtil validationUtil;
+    private final BusinessMetrics businessMetrics;
 
     private LocalDateTime otpLimitReachedTime = null;
 
@@ -56,6 +58,7 @@ public class OtpServiceImpl implements OtpService {
         // Existing OTP is not expired
         existingOtpInfo.setGeneratedAt(LocalDateTime.now());
         incrementOtpAttempts(accountNumber);
+        businessMetrics.otpGenerated();
 
         return existingOtpInfo.getOtp();
     }
@@ -139,6 +142,7 @@ public class OtpServiceImpl implements OtpService {
         val otp = String.valueOf(otpValue);
 
         otpInfoRepository.save(new OtpInfo(accountNumber, otp, LocalDateTime.now()));
+        businessMetrics.otpGenerated();
 
         return otp;
     }
@@ -153,10 +157,17 @@ public class OtpServiceImpl implements OtpService {
     public boolean validateOTP(String accountNumber, String otp) {
         val otpInfo = otpInfoRepository.findByAccountNumberAndOtp(accountNumber, otp);
         if (otpInfo == null) {
+            businessMetrics.otpInvalid();
             throw new InvalidOtpException(ApiMessages.OTP_INVALID_ERROR.getMessage());
         }
 
-        return !isOtpExpired(otpInfo);
+        if (isOtpExpired(otpInfo)) {
+            businessMetrics.otpExpired();
+            return false;
+        }
+
+        businessMetrics.otpVerified();
+        return true;
     }
 
     private boolean isOtpExpired(OtpInfo otpInfo) {
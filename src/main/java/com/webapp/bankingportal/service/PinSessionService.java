@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.dto.PinSession;
+import com.webapp.bankingportal.dto.PinSessionResponse;
+
+public interface PinSessionService {
+
+    public PinSessionResponse issue(String accountNumber, String bearerToken);
+
+    public void authorize(PinSession pinSession, String accountNumber, double amount);
+
+    public void revokeAll(String accountNumber);
+
+}
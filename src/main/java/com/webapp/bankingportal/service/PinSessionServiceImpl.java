@@ -0,0 +1,188 @@
+package com.webapp.bankingportal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.webapp.bankingportal.dto.PinSession;
+import com.webapp.bankingportal.dto.PinSessionResponse;
+import com.webapp.bankingportal.exception.UnauthorizedException;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues and checks short-lived PIN session grants. A grant is a signed JWT
+ * scoped to one account and to the bearer token it was issued for, and lets
+ * money operations skip the BCrypt PIN check until it expires or its operation
+ * and amount caps are used up.
+ *
+ * The caps are tracked in a local cache keyed by grant id, so a grant presented
+ * to an instance that did not issue it (or after a restart) is rejected and the
+ * client falls back to the PIN.
+ */
+@Service
+@Slf4j
+public class PinSessionServiceImpl implements PinSessionService {
+
+    private static final String SCOPE = "pin-session";
+    private static final String CLAIM_SCOPE = "scope";
+    private static final String CLAIM_TOKEN_HASH = "tkh";
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${pin.session.ttl-minutes:5}")
+    private long ttlMinutes;
+
+    @Value("${pin.session.max-operations:10}")
+    private int maxOperations;
+
+    @Value("${pin.session.max-amount:100000}")
+    private double maxAmount;
+
+    private Key key;
+    private Cache<String, Usage> sessions;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        sessions = Caffeine.newBuilder()
+                .expireAfterWrite(ttlMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    @Override
+    public PinSessionResponse issue(String accountNumber, String bearerToken) {
+        val id = UUID.randomUUID().toString();
+        val now = System.currentTimeMillis();
+        val ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+
+        val grant = Jwts.builder()
+                .setId(id)
+                .setSubject(accountNumber)
+                .claim(CLAIM_SCOPE, SCOPE)
+                .claim(CLAIM_TOKEN_HASH, hash(bearerToken))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        sessions.put(id, new Usage(accountNumber, maxOperations, maxAmount));
+        log.info("Issued PIN session for account: {}", accountNumber);
+
+        return new PinSessionResponse(grant, TimeUnit.MINUTES.toSeconds(ttlMinutes), maxOperations, maxAmount);
+    }
+
+    @Override
+    public void authorize(PinSession pinSession, String accountNumber, double amount) {
+        val usage = resolve(pinSession, accountNumber);
+
+        if (!usage.tryConsume(amount)) {
+            throw new UnauthorizedException(ApiMessages.PIN_SESSION_LIMIT_EXCEEDED_ERROR.getMessage());
+        }
+
+        // Give the operation and amount back if the posting is rolled back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        usage.refund(amount);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void revokeAll(String accountNumber) {
+        sessions.asMap().values().removeIf(usage -> usage.accountNumber.equals(accountNumber));
+    }
+
+    private Usage resolve(PinSession pinSession, String accountNumber) {
+        if (pinSession == null || pinSession.grant() == null || pinSession.bearerToken() == null) {
+            throw new UnauthorizedException(ApiMessages.PIN_SESSION_INVALID_ERROR.getMessage());
+        }
+
+        try {
+            val claims = Jwts.parserBuilder()
+                    .setSigningKey(key)
+                    .requireSubject(accountNumber)
+                    .require(CLAIM_SCOPE, SCOPE)
+                    .require(CLAIM_TOKEN_HASH, hash(pinSession.bearerToken()))
+                    .build()
+                    .parseClaimsJws(pinSession.grant())
+                    .getBody();
+
+            val usage = sessions.getIfPresent(claims.getId());
+            if (usage != null) {
+                return usage;
+            }
+
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Rejected PIN session for account {}: {}", accountNumber, e.getMessage());
+        }
+
+        throw new UnauthorizedException(ApiMessages.PIN_SESSION_INVALID_ERROR.getMessage());
+    }
+
+    private static String hash(String value) {
+        try {
+            val digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Usage {
+
+        private final String accountNumber;
+        private int remainingOperations;
+        private double remainingAmount;
+
+        private Usage(String accountNumber, int remainingOperations, double remainingAmount) {
+            this.accountNumber = accountNumber;
+            this.remainingOperations = remainingOperations;
+            this.remainingAmount = remainingAmount;
+        }
+
+        private synchronized boolean tryConsume(double amount) {
+            if (remainingOperations <= 0 || remainingAmount < amount) {
+                return false;
+            }
+
+            remainingOperations--;
+            remainingAmount -= amount;
+            return true;
+        }
+
+        private synchronized void refund(double amount) {
+            remainingOperations++;
+            remainingAmount += amount;
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.webapp.bankingportal.service;
+
+import java.time.YearMonth;
+
+import com.webapp.bankingportal.dto.StatementRunResult;
+
+public interface StatementService {
+
+    public void generateLastMonthStatements();
+
+    public StatementRunResult generateStatements(YearMonth period);
+
+}
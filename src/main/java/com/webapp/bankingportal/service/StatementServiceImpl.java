@@ -0,0 +1,355 @@
+package com.webapp.bankingportal.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.dto.StatementLine;
+import com.webapp.bankingportal.dto.StatementRecipient;
+import com.webapp.bankingportal.dto.StatementRunResult;
+import com.webapp.bankingportal.entity.StatementCheckpoint;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.StatementCheckpointRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates monthly statements: an HTML summary in the email body and the
+ * month's transactions as a CSV attachment. Accounts without activity in the
+ * month get no statement.
+ *
+ * The account id range is split into {@code statement.partitions} partitions
+ * that run in parallel. Each walks its accounts in pages of
+ * {@code statement.page-size}, streaming every account's transactions straight
+ * into its CSV file, so memory is bounded by one page regardless of how many
+ * accounts or transactions there are. Once all emails of a page have been
+ * handed to the mail server the partition's {@link StatementCheckpoint} is
+ * advanced. A run that is restarted for the same month resumes after the last
+ * checkpointed page, so at most one page per partition is sent twice.
+ *
+ * When an email of a page cannot be sent, the checkpoint is only advanced to
+ * the account before it and the partition stops without being completed.
+ * Running the month again resumes from the failed statement.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatementServiceImpl implements StatementService {
+
+    private static final String CSV_HEADER = "Date,Type,Amount,Counterparty,Balance\n";
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final StatementCheckpointRepository statementCheckpointRepository;
+    private final EmailService emailService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${statement.partitions:4}")
+    private int partitions;
+
+    @Value("${statement.page-size:500}")
+    private int pageSize;
+
+    private TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Scheduled(cron = "${statement.cron:0 0 2 1 * *}")
+    public void generateLastMonthStatements() {
+        generateStatements(YearMonth.now().minusMonths(1));
+    }
+
+    @Override
+    public StatementRunResult generateStatements(YearMonth period) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A statement run is already in progress");
+        }
+
+        try {
+            return run(period);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private StatementRunResult run(YearMonth period) {
+        val start = System.currentTimeMillis();
+        val checkpoints = checkpointsFor(period);
+        val pending = checkpoints.stream().filter(checkpoint -> !checkpoint.isCompleted()).toList();
+        if (pending.isEmpty()) {
+            log.info("Statements for {} have already been generated", period);
+            return new StatementRunResult(period.toString(), 0, 0, 0, System.currentTimeMillis() - start);
+        }
+
+        log.info("Generating statements for {}: {} of {} partitions pending", period, pending.size(),
+                checkpoints.size());
+
+        Path directory;
+        try {
+            directory = Files.createTempDirectory("statements-" + period + "-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        val executor = Executors.newFixedThreadPool(pending.size());
+        var accounts = 0;
+        var statements = 0;
+        var failed = 0;
+        try {
+            val futures = pending.stream()
+                    .map(checkpoint -> executor.submit(() -> runPartition(checkpoint, period, directory)))
+                    .toList();
+
+            for (val future : futures) {
+                val result = future.get();
+                accounts += result.accounts();
+                statements += result.statements();
+                failed += result.failed();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Statement run for " + period + " was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Statement run for " + period + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            directory.toFile().delete();
+        }
+
+        val result = new StatementRunResult(period.toString(), accounts, statements, failed,
+                System.currentTimeMillis() - start);
+        log.info("Generated {} statements for {} accounts for {} in {} ms", result.statements(),
+                result.accounts(), period, result.elapsedMillis());
+        if (failed > 0) {
+            log.warn("{} statements for {} could not be sent; run the month again to resume from them", failed,
+                    period);
+        }
+
+        return result;
+    }
+
+    /**
+     * Loads the checkpoints of a run, or splits the current account id range
+     * into partitions when the month has not been started yet. Accounts created
+     * after that are left out of the month's run.
+     */
+    private List<StatementCheckpoint> checkpointsFor(YearMonth period) {
+        val existing = statementCheckpointRepository.findByPeriodOrderByPartitionIndex(period.toString());
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+
+        val minId = accountRepository.findMinId();
+        val maxId = accountRepository.findMaxId();
+        if (minId == null) {
+            return existing;
+        }
+
+        val span = maxId - minId + 1;
+        val count = (int) Math.min(Math.max(1, partitions), span);
+        val checkpoints = new ArrayList<StatementCheckpoint>(count);
+        for (int i = 0; i < count; i++) {
+            val first = minId + span * i / count;
+            val last = minId + span * (i + 1) / count - 1;
+            checkpoints.add(new StatementCheckpoint(period.toString(), i, first, last));
+        }
+
+        return statementCheckpointRepository.saveAll(checkpoints);
+    }
+
+    private PartitionResult runPartition(StatementCheckpoint checkpoint, YearMonth period, Path directory) {
+        val zone = ZoneId.systemDefault();
+        val from = Date.from(period.atDay(1).atStartOfDay(zone).toInstant());
+        val to = Date.from(period.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant());
+
+        var accounts = 0;
+        var statements = 0;
+        while (true) {
+            val recipients = accountRepository.findStatementRecipients(checkpoint.getLastProcessedAccountId(),
+                    checkpoint.getLastAccountId(), PageRequest.of(0, pageSize));
+            if (recipients.isEmpty()) {
+                break;
+            }
+
+            val sends = new ArrayList<Send>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (val recipient : recipients) {
+                    val file = writeStatement(recipient, period, from, to, directory);
+                    if (file != null) {
+                        sends.add(new Send(recipient, send(recipient, period, file)));
+                    }
+                }
+            });
+
+            // Failures are read from the individual futures below
+            CompletableFuture.allOf(sends.stream().map(Send::result).toArray(CompletableFuture[]::new))
+                    .handle((result, e) -> null)
+                    .join();
+
+            val failures = sends.stream().filter(send -> send.result().isCompletedExceptionally()).toList();
+            statements += sends.size() - failures.size();
+            if (!failures.isEmpty()) {
+                val firstFailed = recipients.indexOf(failures.get(0).recipient());
+                accounts += firstFailed;
+                if (firstFailed > 0) {
+                    checkpoint.setLastProcessedAccountId(recipients.get(firstFailed - 1).accountId());
+                }
+                checkpoint.setUpdatedAt(new Date());
+                statementCheckpointRepository.save(checkpoint);
+
+                log.warn("Statement partition {} for {} stopped: {} statements could not be sent",
+                        checkpoint.getPartitionIndex(), period, failures.size());
+                return new PartitionResult(accounts, statements, failures.size());
+            }
+
+            accounts += recipients.size();
+            checkpoint.setLastProcessedAccountId(recipients.get(recipients.size() - 1).accountId());
+            checkpoint.setUpdatedAt(new Date());
+            statementCheckpointRepository.save(checkpoint);
+        }
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(new Date());
+        statementCheckpointRepository.save(checkpoint);
+
+        log.info("Statement partition {} for {} done: {} statements for {} accounts",
+                checkpoint.getPartitionIndex(), period, statements, accounts);
+        return new PartitionResult(accounts, statements, 0);
+    }
+
+    private CompletableFuture<Void> send(StatementRecipient recipient, YearMonth period, StatementFile file) {
+        val subject = "Your bank statement for " + period;
+        val body = emailService.getBankStatementEmailTemplate(recipient.name(), file.summary());
+
+        return emailService.sendEmailWithAttachment(recipient.email(), subject, body, file.path().toString())
+                .whenComplete((result, e) -> file.path().toFile().delete());
+    }
+
+    /**
+     * Streams the account's transactions for the month into a CSV file.
+     *
+     * @return The file and its summary, or null when the account had no
+     *         transactions in the month
+     */
+    private StatementFile writeStatement(StatementRecipient recipient, YearMonth period, Date from, Date to,
+            Path directory) {
+        val accountNumber = recipient.accountNumber();
+        val path = directory.resolve("statement-" + accountNumber + "-" + period + ".csv");
+
+        var count = 0;
+        var credits = 0.0;
+        var debits = 0.0;
+        Double openingBalance = null;
+        Double closingBalance = null;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path);
+                val lines = transactionRepository.streamStatementLines(recipient.accountId(), from, to)) {
+            writer.write(CSV_HEADER);
+
+            val iterator = lines.iterator();
+            while (iterator.hasNext()) {
+                val line = iterator.next();
+                val incoming = accountNumber.equals(line.targetAccountNumber());
+                val credited = incoming || line.transactionType() == TransactionType.CASH_DEPOSIT
+                        || line.transactionType() == TransactionType.CASH_CREDIT;
+                val balanceAfter = incoming ? line.targetBalanceAfter() : line.sourceBalanceAfter();
+
+                if (count == 0 && balanceAfter != null) {
+                    openingBalance = balanceAfter + (credited ? -line.amount() : line.amount());
+                }
+                closingBalance = balanceAfter;
+                count++;
+
+                if (credited) {
+                    credits += line.amount();
+                } else {
+                    debits += line.amount();
+                }
+
+                writer.write(csvLine(line, accountNumber, incoming, credited, balanceAfter));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (count == 0) {
+            path.toFile().delete();
+            return null;
+        }
+
+        val summary = String.format("Account:          %s%n"
+                + "Period:           %s%n"
+                + "Opening balance:  %s%n"
+                + "Total credits:    %.2f%n"
+                + "Total debits:     %.2f%n"
+                + "Closing balance:  %s%n"
+                + "Transactions:     %d (see attached CSV)",
+                accountNumber, period, formatBalance(openingBalance), credits, debits,
+                formatBalance(closingBalance), count);
+
+        return new StatementFile(path, summary);
+    }
+
+    private static String csvLine(StatementLine line, String accountNumber, boolean incoming, boolean credited,
+            Double balanceAfter) {
+        String counterparty;
+        if (incoming) {
+            counterparty = line.sourceAccountNumber();
+        } else if (line.targetAccountNumber() != null) {
+            counterparty = line.targetAccountNumber();
+        } else {
+            counterparty = "";
+        }
+
+        val date = line.transactionDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+        return String.format("%s,%s,%.2f,%s,%s%n", CSV_DATE_FORMAT.format(date), line.transactionType(),
+                credited ? line.amount() : -line.amount(), counterparty,
+                balanceAfter == null ? "" : String.format("%.2f", balanceAfter));
+    }
+
+    private static String formatBalance(Double balance) {
+        return balance == null ? "n/a" : String.format("%.2f", balance);
+    }
+
+    private record StatementFile(Path path, String summary) {
+    }
+
+    private record Send(StatementRecipient recipient, CompletableFuture<Void> result) {
+    }
+
+    private record PartitionResult(int accounts, int statements, int failed) {
+    }
+
+}
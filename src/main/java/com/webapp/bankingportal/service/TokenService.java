@@ -6,6 +6,7 @@ import java.util.function.Function;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.exception.InvalidTokenException;
 
 import io.jsonwebtoken.Claims;
@@ -25,6 +26,8 @@ public interface TokenService extends UserDetailsService {
 
     public void saveToken(String token) throws InvalidTokenException;
 
+    public void saveToken(String token, Account account) throws InvalidTokenException;
+
     public void validateToken(String token) throws InvalidTokenException;
 
     public void invalidateToken(String token);
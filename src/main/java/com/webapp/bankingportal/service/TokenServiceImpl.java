@@ -16,6 +16,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Role;
 import com.webapp.bankingportal.entity.Token;
 import com.webapp.bankingportal.exception.InvalidTokenException;
 import com.webapp.bankingportal.repository.AccountRepository;
@@ -49,14 +51,14 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public String generateToken(UserDetails userDetails) {
-        log.info("Generating token for user: " + userDetails.getUsername());
+        log.info("Generating token for user: {}", userDetails.getUsername());
         return doGenerateToken(userDetails,
                 new Date(System.currentTimeMillis() + expiration));
     }
 
     @Override
     public String generateToken(UserDetails userDetails, Date expiry) {
-        log.info("Generating token for user: " + userDetails.getUsername());
+        log.info("Generating token for user: {}", userDetails.getUsername());
         return doGenerateToken(userDetails, expiry);
     }
     private Key key() {
@@ -72,11 +74,13 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public UserDetails loadUserByUsername(String accountNumber) throws UsernameNotFoundException {
-        val user = userRepository.findByAccountAccountNumber(accountNumber)
+        val credentials = userRepository.findCredentialsByAccountNumber(accountNumber)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber)));
 
-        return withUsername(accountNumber).password(user.getPassword()).build();
+        // Users registered before roles were introduced have none
+        val role = credentials.role() != null ? credentials.role() : Role.CUSTOMER;
+        return withUsername(accountNumber).password(credentials.password()).roles(role.name()).build();
     }
 
     @Override
@@ -127,14 +131,20 @@ public class TokenServiceImpl implements TokenService {
 
     @Override
     public void saveToken(String token) throws InvalidTokenException {
+        saveToken(token, accountRepository.findByAccountNumber(getUsernameFromToken(token)));
+    }
+
+    /**
+     * Saves a token for an account the caller has already loaded, saving the
+     * lookup by the token's subject.
+     */
+    @Override
+    public void saveToken(String token, Account account) throws InvalidTokenException {
         if (tokenRepository.findByToken(token) != null) {
             throw new InvalidTokenException(ApiMessages.TOKEN_ALREADY_EXISTS_ERROR.getMessage());
         }
 
-        val account = accountRepository.findByAccountNumber(
-                getUsernameFromToken(token));
-
-        log.info("Saving token for account: " + account.getAccountNumber());
+        log.info("Saving token for account: {}", account.getAccountNumber());
 
         val tokenObj = new Token(
                 token,
@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.service;
+
+import java.time.LocalDate;
+
+import com.webapp.bankingportal.dto.TransactionSummary;
+import com.webapp.bankingportal.entity.Transaction;
+
+public interface TransactionAggregateService {
+
+    public void record(Transaction transaction);
+
+    public TransactionSummary getSummary(String accountNumber, LocalDate from, LocalDate to);
+
+}
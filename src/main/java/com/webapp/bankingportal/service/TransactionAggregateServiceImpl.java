@@ -0,0 +1,88 @@
+package com.webapp.bankingportal.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.dto.TransactionSummary;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.DailyTransactionAggregate;
+import com.webapp.bankingportal.entity.DailyTransactionAggregateId;
+import com.webapp.bankingportal.entity.LedgerDirection;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.DailyTransactionAggregateRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import jakarta.persistence.EntityManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Maintains per-account daily transaction counts and totals, so that period
+ * summaries read one row per day and type instead of every transaction.
+ *
+ * {@link #record(Transaction)} must be called in the posting transaction while
+ * the account rows are locked, which serializes updates to an account's rows.
+ * Rows are looked up by primary key, so repeated postings to the same account
+ * and day within one transaction (batch transfers) are served from the
+ * persistence context and flushed as a single update.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionAggregateServiceImpl implements TransactionAggregateService {
+
+    private final DailyTransactionAggregateRepository dailyTransactionAggregateRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    public void record(Transaction transaction) {
+        val postingDate = transaction.getTransactionDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+
+        if (transaction.getTransactionType() == TransactionType.CASH_TRANSFER) {
+            add(transaction.getSourceAccount(), postingDate, transaction, LedgerDirection.DEBIT);
+            add(transaction.getTargetAccount(), postingDate, transaction, LedgerDirection.CREDIT);
+        } else if (transaction.getTransactionType() == TransactionType.CASH_WITHDRAWAL) {
+            add(transaction.getSourceAccount(), postingDate, transaction, LedgerDirection.DEBIT);
+        } else {
+            add(transaction.getSourceAccount(), postingDate, transaction, LedgerDirection.CREDIT);
+        }
+    }
+
+    @Override
+    public TransactionSummary getSummary(String accountNumber, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ApiMessages.DATE_RANGE_INVALID_ERROR.getMessage());
+        }
+
+        val items = dailyTransactionAggregateRepository.summarize(accountNumber, from, to);
+        val totalCredits = items.stream()
+                .filter(item -> item.direction() == LedgerDirection.CREDIT)
+                .mapToDouble(item -> item.total())
+                .sum();
+        val totalDebits = items.stream()
+                .filter(item -> item.direction() == LedgerDirection.DEBIT)
+                .mapToDouble(item -> item.total())
+                .sum();
+
+        return new TransactionSummary(from.toString(), to.toString(), totalCredits, totalDebits, items);
+    }
+
+    private void add(Account account, LocalDate postingDate, Transaction transaction, LedgerDirection direction) {
+        val id = new DailyTransactionAggregateId(account.getAccountNumber(), postingDate,
+                transaction.getTransactionType(), direction);
+
+        // Persisted directly: save() would merge, costing another select for an assigned id
+        var aggregate = entityManager.find(DailyTransactionAggregate.class, id);
+        if (aggregate == null) {
+            aggregate = new DailyTransactionAggregate(id);
+            entityManager.persist(aggregate);
+        }
+
+        aggregate.setTransactionCount(aggregate.getTransactionCount() + 1);
+        aggregate.setTotalAmount(aggregate.getTotalAmount() + transaction.getAmount());
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Date;
+
+public interface TransactionArchiveService {
+
+    public void archiveExpired();
+
+    public int archiveBefore(Date cutoff);
+
+}
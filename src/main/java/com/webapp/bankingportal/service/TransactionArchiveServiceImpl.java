@@ -0,0 +1,92 @@
+package com.webapp.bankingportal.service;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.repository.TransactionRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves whole months of transactions older than
+ * {@code transaction.archive.after-months} from the live {@code transaction}
+ * table to {@code transaction_archive}, so the live table, and every history
+ * query against it, stays proportional to the retention window rather than to
+ * the age of the bank. Rows are moved in chunks, each copied and deleted in
+ * its own transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionArchiveServiceImpl implements TransactionArchiveService {
+
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${transaction.archive.after-months:12}")
+    private int afterMonths;
+
+    @Value("${transaction.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Scheduled(cron = "${transaction.archive.cron:0 30 3 * * *}")
+    public void archiveExpired() {
+        val cutoff = YearMonth.now().minusMonths(afterMonths).atDay(1).atStartOfDay(ZoneId.systemDefault());
+        archiveBefore(Date.from(cutoff.toInstant()));
+    }
+
+    @Override
+    public int archiveBefore(Date cutoff) {
+        val start = System.currentTimeMillis();
+        var archived = 0;
+
+        while (true) {
+            val moved = transactionTemplate.execute(status -> {
+                val ids = transactionRepository.findIdsPostedBefore(cutoff, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+
+                transactionRepository.findArchiveCopies(ids).forEach(entityManager::persist);
+                entityManager.flush();
+                transactionRepository.deleteByIdIn(ids);
+                return ids.size();
+            });
+
+            if (moved == null || moved == 0) {
+                break;
+            }
+            archived += moved;
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} transactions posted before {} in {} ms", archived, cutoff,
+                    System.currentTimeMillis() - start);
+        }
+
+        return archived;
+    }
+
+}
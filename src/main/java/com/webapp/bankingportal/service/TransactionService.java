@@ -1,11 +1,18 @@
 package com.webapp.bankingportal.service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionPage;
+import com.webapp.bankingportal.dto.TransactionSearchCriteria;
 
 public interface TransactionService {
 
 	List<TransactionDTO> getAllTransactionsByAccountNumber(String accountNumber);
 
+	List<TransactionDTO> getTransactionsByAccountNumber(String accountNumber, LocalDate from, LocalDate to);
+
+	TransactionPage searchTransactions(String accountNumber, TransactionSearchCriteria criteria, int page, int size);
+
 }
@@ -1,35 +1,166 @@
 package com.webapp.bankingportal.service;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionPage;
+import com.webapp.bankingportal.dto.TransactionSearchCriteria;
+import com.webapp.bankingportal.entity.ArchivedTransaction;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.mapper.TransactionMapper;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.ArchivedTransactionRepository;
 import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.repository.TransactionSpecifications;
+import com.webapp.bankingportal.util.ApiMessages;
 
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class TransactionServiceImpl implements TransactionService {
 
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final ArchivedTransactionRepository archivedTransactionRepository;
     private final TransactionMapper transactionMapper;
 
     @Override
     public List<TransactionDTO> getAllTransactionsByAccountNumber(String accountNumber) {
         val transactions = transactionRepository
                 .findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber);
+        val archivedTransactions = archivedTransactionRepository
+                .findBySourceAccountNumberOrTargetAccountNumber(accountNumber, accountNumber);
 
-        val transactionDTOs = transactions.parallelStream()
-                .map(transactionMapper::toDto)
-                .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                .collect(Collectors.toList());
+        return toSortedDtos(accountNumber, transactions, archivedTransactions);
+    }
+
+    /**
+     * Lists the transactions posted between two dates, inclusive. The archive
+     * tier is only queried when the range starts at or before the newest
+     * archived transaction, so recent history is served from the live table
+     * alone.
+     */
+    @Override
+    public List<TransactionDTO> getTransactionsByAccountNumber(String accountNumber, LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException(ApiMessages.DATE_RANGE_INVALID_ERROR.getMessage());
+        }
+
+        val zone = ZoneId.systemDefault();
+        val start = Date.from(from.atStartOfDay(zone).toInstant());
+        val end = Date.from(to.plusDays(1).atStartOfDay(zone).toInstant());
+
+        val transactions = transactionRepository.findByAccountNumberAndDateRange(accountNumber, start, end);
+
+        val latestArchived = archivedTransactionRepository.findLatestTransactionDate();
+        val archivedTransactions = latestArchived != null && !start.after(latestArchived)
+                ? archivedTransactionRepository.findByAccountNumberAndDateRange(accountNumber, start, end)
+                : List.<ArchivedTransaction>of();
+
+        return toSortedDtos(accountNumber, transactions, archivedTransactions);
+    }
+
+    /**
+     * Searches the live transaction tier. Archived transactions are not
+     * searched; they remain available through the date-range listing.
+     */
+    @Override
+    public TransactionPage searchTransactions(String accountNumber, TransactionSearchCriteria criteria, int page,
+            int size) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format(ApiMessages.PAGE_INVALID_ERROR.getMessage(), MAX_SEARCH_PAGE_SIZE));
+        }
+
+        if (criteria.from() != null && criteria.to() != null && criteria.from().isAfter(criteria.to())) {
+            throw new IllegalArgumentException(ApiMessages.DATE_RANGE_ORDER_ERROR.getMessage());
+        }
 
-        return transactionDTOs;
+        if (criteria.minAmount() != null && criteria.maxAmount() != null
+                && criteria.minAmount() > criteria.maxAmount()) {
+            throw new IllegalArgumentException(ApiMessages.AMOUNT_RANGE_INVALID_ERROR.getMessage());
+        }
+
+        val account = accountRepository.findByAccountNumber(accountNumber);
+        if (account == null) {
+            throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+        }
+
+        Specification<Transaction> specification;
+        val counterpartyAccountNumber = criteria.counterpartyAccountNumber();
+        if (counterpartyAccountNumber != null && !counterpartyAccountNumber.isBlank()) {
+            val counterparty = accountRepository.findByAccountNumber(counterpartyAccountNumber);
+            if (counterparty == null) {
+                return new TransactionPage(List.of(), page, size, 0, 0);
+            }
+
+            specification = TransactionSpecifications.betweenAccounts(account.getId(), counterparty.getId());
+        } else {
+            specification = TransactionSpecifications.involvesAccount(account.getId());
+        }
+
+        val zone = ZoneId.systemDefault();
+        if (criteria.transactionType() != null) {
+            specification = specification.and(TransactionSpecifications.hasType(criteria.transactionType()));
+        }
+
+        if (criteria.from() != null) {
+            specification = specification.and(TransactionSpecifications
+                    .postedOnOrAfter(Date.from(criteria.from().atStartOfDay(zone).toInstant())));
+        }
+
+        if (criteria.to() != null) {
+            specification = specification.and(TransactionSpecifications
+                    .postedBefore(Date.from(criteria.to().plusDays(1).atStartOfDay(zone).toInstant())));
+        }
+
+        if (criteria.minAmount() != null) {
+            specification = specification.and(TransactionSpecifications.amountAtLeast(criteria.minAmount()));
+        }
+
+        if (criteria.maxAmount() != null) {
+            specification = specification.and(TransactionSpecifications.amountAtMost(criteria.maxAmount()));
+        }
+
+        val pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "transactionDate", "id"));
+        val result = transactionRepository.findAll(specification, pageable);
+
+        return new TransactionPage(
+                result.getContent().stream()
+                        .map(transaction -> transactionMapper.toDto(transaction, accountNumber))
+                        .collect(Collectors.toList()),
+                result.getNumber(), result.getSize(), result.getTotalElements(), result.getTotalPages());
+    }
+
+    private List<TransactionDTO> toSortedDtos(String accountNumber, List<Transaction> transactions,
+            List<ArchivedTransaction> archivedTransactions) {
+        return Stream.concat(
+                transactions.parallelStream().map(transaction -> transactionMapper.toDto(transaction, accountNumber)),
+                archivedTransactions.parallelStream()
+                        .map(transaction -> transactionMapper.toDto(transaction, accountNumber)))
+                // Postings in a batch share a date, so break ties by id to keep running balances in order
+                .sorted(Comparator.comparing(TransactionDTO::getTransactionDate)
+                        .thenComparing(TransactionDTO::getId)
+                        .reversed())
+                .collect(Collectors.toList());
     }
 
 }
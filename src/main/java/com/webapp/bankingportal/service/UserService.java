@@ -1,8 +1,11 @@
 package com.webapp.bankingportal.service;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.webapp.bankingportal.dto.BulkRegistrationResponse;
 import com.webapp.bankingportal.dto.LoginRequest;
 import com.webapp.bankingportal.dto.OtpRequest;
 import com.webapp.bankingportal.dto.OtpVerificationRequest;
@@ -15,6 +18,8 @@ public interface UserService {
 
     public ResponseEntity<String> registerUser(User user);
 
+    public BulkRegistrationResponse registerUsers(List<User> users);
+
     public ResponseEntity<String> login(LoginRequest loginRequest, HttpServletRequest request)
             throws InvalidTokenException;
 
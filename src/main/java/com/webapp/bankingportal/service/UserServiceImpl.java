@@ -1,20 +1,37 @@
 package com.webapp.bankingportal.service;
 
+import static org.springframework.security.core.userdetails.User.withUsername;
+
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.webapp.bankingportal.config.ExecutorConfig;
+import com.webapp.bankingportal.dto.BulkRegistrationResponse;
 import com.webapp.bankingportal.dto.LoginRequest;
 import com.webapp.bankingportal.dto.OtpRequest;
 import com.webapp.bankingportal.dto.OtpVerificationRequest;
+import com.webapp.bankingportal.dto.RegistrationResult;
 import com.webapp.bankingportal.dto.UserResponse;
 import com.webapp.bankingportal.entity.User;
 import com.webapp.bankingportal.exception.InvalidTokenException;
@@ -23,11 +40,16 @@ import com.webapp.bankingportal.exception.UnauthorizedException;
 import com.webapp.bankingportal.exception.UserInvalidException;
 import com.webapp.bankingportal.mapper.UserMapper;
 import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.tracing.Spans;
 import com.webapp.bankingportal.util.JsonUtil;
 import com.webapp.bankingportal.util.LoggedinUser;
 import com.webapp.bankingportal.util.ValidationUtil;
 import com.webapp.bankingportal.util.ApiMessages;
 
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 import jakarta.servlet.http.HttpServletRequest;
 
 import lombok.RequiredArgsConstructor;
@@ -39,18 +61,30 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    // Same message the authentication manager uses for a wrong password
+    private static final String BAD_CREDENTIALS = "Bad credentials";
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
     private final AccountService accountService;
     private final AuthenticationManager authenticationManager;
+    private final CredentialUpgradeService credentialUpgradeService;
     private final EmailService emailService;
     private final GeolocationService geolocationService;
+    private final ObservationRegistry observationRegistry;
     private final OtpService otpService;
     private final PasswordEncoder passwordEncoder;
+    @Qualifier(ExecutorConfig.PASSWORD_HASH_EXECUTOR)
+    private final Executor passwordHashExecutor;
     private final TokenService tokenService;
-    private final UserDetailsService userDetailsService;
+    private final PlatformTransactionManager transactionManager;
     private final UserMapper userMapper;
     private final UserRepository userRepository;
     private final ValidationUtil validationUtil;
 
+    @Value("${user.registration.bulk-max-size:1000}")
+    private int bulkRegistrationMaxSize;
+
     @Override
     public ResponseEntity<String> registerUser(User user) {
         validationUtil.validateNewUser(user);
@@ -59,13 +93,125 @@ public class UserServiceImpl implements UserService {
         return ResponseEntity.ok(JsonUtil.toJson(new UserResponse(savedUser)));
     }
 
+    /**
+     * Registers a batch of users and opens their accounts. Rows are validated in
+     * memory and checked for existing emails and phone numbers with one query
+     * each. Passwords are hashed in parallel outside the database transaction,
+     * and the accepted users and accounts are inserted together in batches.
+     * Rejected rows are reported individually and do not affect the others.
+     *
+     * A concurrent registration that takes an email or phone number between
+     * the uniqueness check and the insert makes the batch insert fail on the
+     * unique constraint. The accepted users are then inserted one at a time,
+     * each in its own transaction, and only the conflicting rows are rejected.
+     */
+    @Override
+    public BulkRegistrationResponse registerUsers(List<User> users) {
+        if (users == null || users.isEmpty() || users.size() > bulkRegistrationMaxSize) {
+            throw new UserInvalidException(
+                    String.format(ApiMessages.BULK_REGISTRATION_SIZE_ERROR.getMessage(), bulkRegistrationMaxSize));
+        }
+
+        val results = new RegistrationResult[users.size()];
+        val emails = new HashSet<String>();
+        val phoneNumbers = new HashSet<String>();
+        val candidates = new ArrayList<Integer>();
+        for (int i = 0; i < users.size(); i++) {
+            val user = users.get(i);
+            try {
+                ValidationUtil.validateUserDetails(user);
+            } catch (UserInvalidException e) {
+                results[i] = RegistrationResult.failure(i, user == null ? null : user.getEmail(), e.getMessage());
+                continue;
+            }
+
+            if (emails.contains(user.getEmail())) {
+                results[i] = RegistrationResult.failure(i, user.getEmail(),
+                        ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage());
+            } else if (phoneNumbers.contains(user.getPhoneNumber())) {
+                results[i] = RegistrationResult.failure(i, user.getEmail(),
+                        ApiMessages.USER_PHONE_NUMBER_ALREADY_EXISTS_ERROR.getMessage());
+            } else {
+                emails.add(user.getEmail());
+                phoneNumbers.add(user.getPhoneNumber());
+                candidates.add(i);
+            }
+        }
+
+        val accepted = new ArrayList<Integer>();
+        if (!candidates.isEmpty()) {
+            val existingEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+            val existingPhoneNumbers = new HashSet<>(userRepository.findExistingPhoneNumbers(phoneNumbers));
+
+            for (val i : candidates) {
+                val user = users.get(i);
+                if (existingEmails.contains(user.getEmail())) {
+                    results[i] = RegistrationResult.failure(i, user.getEmail(),
+                            ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage());
+                } else if (existingPhoneNumbers.contains(user.getPhoneNumber())) {
+                    results[i] = RegistrationResult.failure(i, user.getEmail(),
+                            ApiMessages.USER_PHONE_NUMBER_ALREADY_EXISTS_ERROR.getMessage());
+                } else {
+                    accepted.add(i);
+                }
+            }
+        }
+
+        var succeeded = 0;
+        if (!accepted.isEmpty()) {
+            val acceptedUsers = accepted.stream().map(users::get).toList();
+            encodePasswords(acceptedUsers);
+            for (val user : acceptedUsers) {
+                user.setAccount(accountService.newAccount(user));
+            }
+
+            val transactionTemplate = new TransactionTemplate(transactionManager);
+            try {
+                transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(acceptedUsers));
+                for (val i : accepted) {
+                    results[i] = RegistrationResult.success(i, users.get(i).getEmail(),
+                            users.get(i).getAccount().getAccountNumber());
+                }
+                succeeded = accepted.size();
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Bulk insert of {} users hit a unique constraint, inserting them one at a time",
+                        accepted.size());
+                for (val i : accepted) {
+                    results[i] = saveIndividually(transactionTemplate, i, users.get(i));
+                    if (results[i].success()) {
+                        succeeded++;
+                    }
+                }
+            }
+        }
+
+        return new BulkRegistrationResponse(succeeded, users.size() - succeeded, Arrays.asList(results));
+    }
+
+    // The rolled back batch left generated ids on the user and account, which would make them look detached
+    private RegistrationResult saveIndividually(TransactionTemplate transactionTemplate, int index, User user) {
+        user.setId(null);
+        user.getAccount().setId(null);
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
+            return RegistrationResult.success(index, user.getEmail(), user.getAccount().getAccountNumber());
+        } catch (DataIntegrityViolationException e) {
+            val message = userRepository.existsByEmail(user.getEmail())
+                    ? ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage()
+                    : ApiMessages.USER_PHONE_NUMBER_ALREADY_EXISTS_ERROR.getMessage();
+            return RegistrationResult.failure(index, user.getEmail(), message);
+        }
+    }
+
     @Override
     public ResponseEntity<String> login(LoginRequest loginRequest, HttpServletRequest request)
             throws InvalidTokenException {
-        val user = authenticateUser(loginRequest);
-        sendLoginNotification(user, request.getRemoteAddr());
-        val token = generateAndSaveToken(user.getAccount().getAccountNumber());
-        return ResponseEntity.ok(String.format(ApiMessages.TOKEN_ISSUED_SUCCESS.getMessage(), token));
+        return Observation.createNotStarted(Spans.LOGIN, observationRegistry).observeChecked(() -> {
+            val user = authenticateUser(loginRequest);
+            sendLoginNotification(user, request.getRemoteAddr());
+            val token = generateAndSaveToken(user);
+            return ResponseEntity.ok(String.format(ApiMessages.TOKEN_ISSUED_SUCCESS.getMessage(), token));
+        });
     }
 
     @Override
@@ -81,7 +227,7 @@ public class UserServiceImpl implements UserService {
         validateOtpRequest(otpVerificationRequest);
         val user = getUserByIdentifier(otpVerificationRequest.identifier());
         validateOtp(user, otpVerificationRequest.otp());
-        val token = generateAndSaveToken(user.getAccount().getAccountNumber());
+        val token = generateAndSaveToken(user);
         return ResponseEntity.ok(String.format(ApiMessages.TOKEN_ISSUED_SUCCESS.getMessage(), token));
     }
 
@@ -123,20 +269,24 @@ public class UserServiceImpl implements UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Resolves a login identifier with a single query that also fetches the
+     * account through the {@link User#WITH_ACCOUNT} graph. The identifier is
+     * classified by its syntax: account numbers are short lowercase
+     * alphanumerics and can never contain the '@' an email needs.
+     */
     @Override
     public User getUserByIdentifier(String identifier) {
-        User user = null;
+        Optional<User> user = Optional.empty();
 
-        if (validationUtil.doesEmailExist(identifier)) {
-            user = getUserByEmail(identifier);
-        } else if (validationUtil.doesAccountExist(identifier)) {
-            user = getUserByAccountNumber(identifier);
-        } else {
-            throw new UserInvalidException(
-                    String.format(ApiMessages.USER_NOT_FOUND_BY_IDENTIFIER.getMessage(), identifier));
+        if (ValidationUtil.isValidAccountNumber(identifier)) {
+            user = userRepository.findByAccountAccountNumber(identifier);
+        } else if (identifier != null && ValidationUtil.isValidEmail(identifier)) {
+            user = userRepository.findByEmail(identifier);
         }
 
-        return user;
+        return user.orElseThrow(() -> new UserInvalidException(
+                String.format(ApiMessages.USER_NOT_FOUND_BY_IDENTIFIER.getMessage(), identifier)));
     }
 
     @Override
@@ -157,28 +307,49 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
     }
 
+    private void encodePasswords(List<User> users) {
+        val futures = users.stream()
+                .map(user -> CompletableFuture.runAsync(() -> encodePassword(user), passwordHashExecutor))
+                .toList();
+        futures.forEach(CompletableFuture::join);
+    }
+
+    // Persisting the new user cascades to its account, one insert for each
     private User saveUserWithAccount(User user) {
-        val savedUser = saveUser(user);
-        savedUser.setAccount(accountService.createAccount(savedUser));
-        return saveUser(savedUser);
+        user.setAccount(accountService.newAccount(user));
+        return saveUser(user);
     }
 
     private User authenticateUser(LoginRequest loginRequest) {
-        val user = getUserByIdentifier(loginRequest.identifier());
-        val accountNumber = user.getAccount().getAccountNumber();
-        authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(accountNumber, loginRequest.password()));
-        return user;
+        return Observation.createNotStarted(Spans.AUTHENTICATE, observationRegistry).observe(() -> {
+            val user = getUserByIdentifier(loginRequest.identifier());
+
+            // Checked against the user already loaded, instead of having the
+            // authentication manager load it again by account number
+            if (loginRequest.password() == null
+                    || !passwordEncoder.matches(loginRequest.password(), user.getPassword())) {
+                throw new BadCredentialsException(BAD_CREDENTIALS);
+            }
+
+            if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+                credentialUpgradeService.upgradePasswordHash(user.getId(), loginRequest.password(),
+                        user.getPassword());
+            }
+
+            return user;
+        });
     }
 
     private void authenticateUser(String accountNumber, String password) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(accountNumber, password));
+        Observation.createNotStarted(Spans.AUTHENTICATE, observationRegistry).observe(() -> {
+            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(accountNumber, password));
+        });
     }
 
-    private String generateAndSaveToken(String accountNumber) throws InvalidTokenException {
-        val userDetails = userDetailsService.loadUserByUsername(accountNumber);
+    private String generateAndSaveToken(User user) throws InvalidTokenException {
+        val userDetails = withUsername(user.getAccount().getAccountNumber()).password(user.getPassword()).build();
         val token = tokenService.generateToken(userDetails);
-        tokenService.saveToken(token);
+        tokenService.saveToken(token, user.getAccount());
         return token;
     }
 
@@ -219,20 +390,25 @@ public class UserServiceImpl implements UserService {
     private CompletableFuture<Boolean> sendLoginNotification(User user, String ip) {
         val loginTime = new Timestamp(System.currentTimeMillis()).toString();
 
+        // The stages run in the login's trace, whichever thread completes the lookup
+        val executor = CONTEXT_SNAPSHOTS.captureAll().wrapExecutor(ForkJoinPool.commonPool());
+
         return geolocationService.getGeolocation(ip)
                 .thenComposeAsync(geolocationResponse -> {
                     val loginLocation = String.format("%s, %s",
                             geolocationResponse.getCity().getNames().get("en"),
                             geolocationResponse.getCountry().getNames().get("en"));
-                    return sendLoginEmail(user, loginTime, loginLocation);
-                })
-                .exceptionallyComposeAsync(throwable -> sendLoginEmail(user, loginTime, "Unknown"));
+                    return sendLoginEmail(user, loginTime, loginLocation, executor);
+                }, executor)
+                .exceptionallyComposeAsync(throwable -> sendLoginEmail(user, loginTime, "Unknown", executor),
+                        executor);
     }
 
-    private CompletableFuture<Boolean> sendLoginEmail(User user, String loginTime, String loginLocation) {
+    private CompletableFuture<Boolean> sendLoginEmail(User user, String loginTime, String loginLocation,
+            Executor executor) {
         val emailText = emailService.getLoginEmailTemplate(user.getName(), loginTime, loginLocation);
         return emailService.sendEmail(user.getEmail(), ApiMessages.EMAIL_SUBJECT_LOGIN.getMessage(), emailText)
-                .thenApplyAsync(result -> true)
+                .thenApplyAsync(result -> true, executor)
                 .exceptionally(ex -> false);
     }
 
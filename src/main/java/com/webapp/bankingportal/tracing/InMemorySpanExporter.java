@@ -0,0 +1,75 @@
+package com.webapp.bankingportal.tracing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import lombok.val;
+
+/**
+ * Keeps the most recent spans in memory, dropping the oldest once
+ * {@code tracing.in-memory.max-spans} is reached. Spring Boot hands finished
+ * spans to every {@link SpanExporter} bean in batches, so a span shows up
+ * here shortly after it ends.
+ */
+@Component
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final ConcurrentLinkedDeque<SpanData> spans = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Value("${tracing.in-memory.max-spans:1000}")
+    private int maxSpans;
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        for (val span : batch) {
+            spans.addLast(span);
+            if (size.incrementAndGet() > maxSpans && spans.pollFirst() != null) {
+                size.decrementAndGet();
+            }
+        }
+
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    public List<SpanData> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public List<SpanData> getSpans(String traceId) {
+        val trace = new ArrayList<SpanData>();
+        for (val span : spans) {
+            if (span.getTraceId().equals(traceId)) {
+                trace.add(span);
+            }
+        }
+
+        return trace;
+    }
+
+    public void clear() {
+        spans.clear();
+        size.set(0);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.webapp.bankingportal.tracing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import io.micrometer.observation.Observation;
+
+import lombok.val;
+
+/**
+ * Names of the spans the application creates, and a helper for observing
+ * operations that complete a future.
+ */
+public final class Spans {
+
+    public static final String LOGIN = "bankingportal.login";
+    public static final String AUTHENTICATE = "bankingportal.authenticate";
+    public static final String GEOLOCATION = "bankingportal.geolocation";
+    public static final String EMAIL = "bankingportal.email";
+    public static final String JDBC = "bankingportal.jdbc";
+
+    private Spans() {
+    }
+
+    /**
+     * Runs {@code operation} with {@code observation} in scope and stops the
+     * observation when the returned future completes, recording its failure
+     * as the span's error.
+     */
+    public static <T> CompletableFuture<T> observe(Observation observation,
+            Supplier<CompletableFuture<T>> operation) {
+        observation.start();
+
+        CompletableFuture<T> future;
+        try (val scope = observation.openScope()) {
+            future = operation.get();
+        } catch (RuntimeException e) {
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+
+        future.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                observation.error(throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable);
+            }
+            observation.stop();
+        });
+
+        return future;
+    }
+
+}
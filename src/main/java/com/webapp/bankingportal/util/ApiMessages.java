@@ -10,20 +10,29 @@ public enum ApiMessages {
     AMOUNT_INVALID_ERROR("Invalid amount"),
     AMOUNT_NEGATIVE_ERROR("Amount must be greater than 0"),
     AMOUNT_NOT_MULTIPLE_OF_100_ERROR("Amount must be in multiples of 100"),
+    AMOUNT_RANGE_INVALID_ERROR("Minimum amount must not be greater than maximum amount"),
     BALANCE_INSUFFICIENT_ERROR("Insufficient balance"),
+    BATCH_TRANSFER_SIZE_ERROR("A batch must contain between 1 and %d transfers"),
+    BULK_REGISTRATION_SIZE_ERROR("A bulk registration must contain between 1 and %d users"),
     CASH_DEPOSIT_SUCCESS("{\"msg\": \"Cash deposited successfully\"}"),
     CASH_TRANSFER_SAME_ACCOUNT_ERROR("Source and target account cannot be the same"),
     CASH_TRANSFER_SUCCESS("{\"msg\": \"Fund transferred successfully\"}"),
     CASH_WITHDRAWAL_SUCCESS("{\"msg\": \"Cash withdrawn successfully\"}"),
+    DATE_RANGE_INVALID_ERROR("Both from and to dates are required, and from must not be after to"),
+    DATE_RANGE_ORDER_ERROR("From date must not be after to date"),
     EMAIL_SUBJECT_LOGIN("New login to OneStopBank"),
     EMAIL_SUBJECT_OTP("OTP Verification"),
     GEOLOCATION_FAILED("Failed to get geolocation for IP: %s"),
+    IDEMPOTENCY_KEY_IN_PROGRESS_ERROR("A request with this idempotency key is still being processed"),
+    IDEMPOTENCY_KEY_INVALID_ERROR("Idempotency key must be between 1 and 64 characters"),
+    IDEMPOTENCY_KEY_REUSED_ERROR("Idempotency key was already used for a different request"),
     IDENTIFIER_MISSING_ERROR("Missing identifier"),
     OTP_GENERATION_LIMIT_EXCEEDED("OTP generation limit exceeded. Please try again after %d minutes"),
     OTP_INVALID_ERROR("Invalid OTP"),
     OTP_MISSING_ERROR("Missing OTP"),
     OTP_SENT_FAILURE("{\"message\": \"Failed to send OTP to: %s\"}"),
     OTP_SENT_SUCCESS("{\"message\": \"OTP sent successfully to: %s\"}"),
+    PAGE_INVALID_ERROR("Page must not be negative and size must be between 1 and %d"),
     PASSWORD_CONTAINS_WHITESPACE_ERROR("Password cannot contain any whitespace characters"),
     PASSWORD_EMPTY_ERROR("Password cannot be empty"),
     PASSWORD_INVALID_ERROR("Invalid password"),
@@ -40,6 +49,8 @@ public enum ApiMessages {
     PIN_FORMAT_INVALID_ERROR("PIN must be 4 digits"),
     PIN_INVALID_ERROR("Invalid PIN"),
     PIN_NOT_CREATED("PIN has not been created for this account"),
+    PIN_SESSION_INVALID_ERROR("PIN session is invalid or has expired"),
+    PIN_SESSION_LIMIT_EXCEEDED_ERROR("PIN session operation or amount limit exceeded"),
     PIN_UPDATE_SUCCESS("{\"hasPIN\": false, \"msg\": \"PIN updated successfully\"}"),
     TOKEN_ALREADY_EXISTS_ERROR("Token already exists"),
     TOKEN_EMPTY_ERROR("Token is empty"),
@@ -23,7 +23,7 @@ public interface JsonUtil {
         try {
             return objectMapper.writeValueAsString(obj);
         } catch (JsonProcessingException e) {
-            log.error(e.getMessage(), e);
+            log.error("Failed to serialize {} to JSON", obj.getClass().getSimpleName(), e);
         }
 
         return null;
@@ -1,5 +1,7 @@
 package com.webapp.bankingportal.util;
 
+import java.util.regex.Pattern;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -25,6 +27,8 @@ public class ValidationUtil {
     public static final Logger log = LoggerFactory.getLogger(ValidationUtil.class);
     public static final PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
 
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("[0-9a-z]{3,12}");
+
     private final UserRepository userRepository;
 
     public static boolean isValidEmail(String identifier) {
@@ -39,8 +43,8 @@ public class ValidationUtil {
     }
 
     public static boolean isValidAccountNumber(String identifier) {
-        // Account number validation logic (e.g., length check)
-        return identifier != null && identifier.length() == 6;
+        // Generated numbers are base 36 with a check character, older ones six hex characters
+        return identifier != null && ACCOUNT_NUMBER_PATTERN.matcher(identifier).matches();
     }
 
     public static boolean isValidCountryCode(String countryCode) {
@@ -176,15 +180,15 @@ public class ValidationUtil {
     }
 
     public boolean doesAccountExist(String accountNumber) {
-        return userRepository.findByAccountAccountNumber(accountNumber).isPresent();
+        return userRepository.existsByAccountAccountNumber(accountNumber);
     }
 
     public boolean doesEmailExist(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return userRepository.existsByEmail(email);
     }
 
     public boolean doesPhoneNumberExist(String phoneNumber) {
-        return userRepository.findByPhoneNumber(phoneNumber).isPresent();
+        return userRepository.existsByPhoneNumber(phoneNumber);
     }
 
 }
@@ -0,0 +1,13 @@
+-- One-off migration for databases created while Account, User, Token and
+-- Transaction used IDENTITY ids. On MySQL, Hibernate emulates the new
+-- sequences with single-row tables; this moves each one at least one
+-- allocation block (100) past the highest existing id so pooled ids cannot
+-- collide with rows written before the switch.
+--
+-- Start the application once so the *_sequence tables exist, stop it, run
+-- this script, then start it again.
+
+UPDATE account_sequence SET next_val = (SELECT COALESCE(MAX(id), 0) + 101 FROM account);
+UPDATE user_sequence SET next_val = (SELECT COALESCE(MAX(id), 0) + 101 FROM user);
+UPDATE token_sequence SET next_val = (SELECT COALESCE(MAX(id), 0) + 101 FROM token);
+UPDATE transaction_sequence SET next_val = (SELECT COALESCE(MAX(id), 0) + 101 FROM transaction);
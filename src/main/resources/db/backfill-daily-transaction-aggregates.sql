@@ -0,0 +1,26 @@
+-- One-off backfill of daily_transaction_aggregate for transactions posted
+-- before the table was introduced. Deposits credit the source account,
+-- withdrawals debit it, and transfers debit the source and credit the target.
+--
+-- Start the application once so the table exists, stop it, run this script
+-- against an empty daily_transaction_aggregate table, then start it again.
+-- Days are taken in the database session time zone, which should match the
+-- application's.
+
+INSERT INTO daily_transaction_aggregate
+    (account_number, posting_date, transaction_type, direction, transaction_count, total_amount)
+SELECT account_number, posting_date, transaction_type, direction, COUNT(*), SUM(amount)
+FROM (
+    SELECT s.account_number, DATE(t.transaction_date) AS posting_date, t.transaction_type,
+           CASE WHEN t.transaction_type IN ('CASH_WITHDRAWAL', 'CASH_TRANSFER') THEN 'DEBIT' ELSE 'CREDIT' END
+               AS direction,
+           t.amount
+    FROM transaction t
+    JOIN account s ON s.id = t.source_account_id
+    UNION ALL
+    SELECT tg.account_number, DATE(t.transaction_date), t.transaction_type, 'CREDIT', t.amount
+    FROM transaction t
+    JOIN account tg ON tg.id = t.target_account_id
+    WHERE t.transaction_type = 'CASH_TRANSFER'
+) postings
+GROUP BY account_number, posting_date, transaction_type, direction;
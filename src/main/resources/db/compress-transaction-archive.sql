@@ -0,0 +1,7 @@
+-- Stores the transaction archive tier compressed. Archived rows are written
+-- once and read rarely, so they trade some CPU on access for roughly half the
+-- disk and buffer pool footprint. Requires innodb_file_per_table (the default).
+--
+-- Run once after the application has created transaction_archive.
+
+ALTER TABLE transaction_archive ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
@@ -0,0 +1,153 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.repository.AccountNumberSequenceRepository;
+import com.webapp.bankingportal.service.AccountNumberService;
+import com.webapp.bankingportal.service.AccountNumberServiceImpl;
+
+import lombok.val;
+
+@TestPropertySource(properties = "account.number.block-size=1000")
+public class AccountNumberTests extends BaseTest {
+
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    @Autowired
+    AccountNumberService accountNumberService;
+
+    @Autowired
+    AccountNumberSequenceRepository accountNumberSequenceRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void test_created_account_number_format() {
+        val accountNumber = createAccount().get("accountNumber");
+
+        Assertions.assertEquals(6, accountNumber.length());
+        Assertions.assertTrue(AccountNumberServiceImpl.hasValidCheckCharacter(accountNumber));
+        // Never all hex, so it cannot clash with numbers issued by the old random generator
+        Assertions.assertEquals(-1, HEX_DIGITS.indexOf(accountNumber.charAt(0)));
+    }
+
+    @Test
+    public void test_check_character_detects_single_character_errors() {
+        for (int i = 0; i < 1000; i++) {
+            val accountNumber = accountNumberService.nextAccountNumber();
+
+            for (int position = 0; position < accountNumber.length(); position++) {
+                for (val replacement : "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray()) {
+                    if (replacement == accountNumber.charAt(position)) {
+                        continue;
+                    }
+
+                    val mistyped = accountNumber.substring(0, position) + replacement
+                            + accountNumber.substring(position + 1);
+                    Assertions.assertFalse(AccountNumberServiceImpl.hasValidCheckCharacter(mistyped), mistyped);
+                }
+            }
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_concurrent_registrations_get_distinct_account_numbers() throws Exception {
+        val threads = 8;
+        val registrationsPerThread = 25;
+        val accountNumbers = ConcurrentHashMap.<String>newKeySet();
+
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < registrationsPerThread; i++) {
+                accountNumbers.add(createAccount().get("accountNumber"));
+            }
+        });
+
+        Assertions.assertEquals(threads * registrationsPerThread, accountNumbers.size());
+    }
+
+    /**
+     * Allocates 1,000,000 numbers from 16 threads spread over two allocator
+     * instances, standing in for two application nodes sharing one database.
+     *
+     * Run with: mvn test -Pbenchmark -Dtest=AccountNumberTests
+     */
+    @Test
+    @Tag("benchmark")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_one_million_concurrent_allocations_have_no_duplicates() throws Exception {
+        val threads = 16;
+        val allocationsPerThread = 62_500;
+
+        val otherNode = new AccountNumberServiceImpl(accountNumberSequenceRepository, transactionManager);
+        ReflectionTestUtils.setField(otherNode, "length", 6);
+        ReflectionTestUtils.setField(otherNode, "blockSize", 1000L);
+        ReflectionTestUtils.invokeMethod(otherNode, "init");
+        val nodes = List.<AccountNumberService>of(accountNumberService, otherNode);
+
+        val accountNumbers = ConcurrentHashMap.<String>newKeySet(threads * allocationsPerThread);
+        val next = new int[] { 0 };
+        runConcurrently(threads, () -> {
+            AccountNumberService node;
+            synchronized (next) {
+                node = nodes.get(next[0]++ % nodes.size());
+            }
+
+            for (int i = 0; i < allocationsPerThread; i++) {
+                accountNumbers.add(node.nextAccountNumber());
+            }
+        });
+
+        Assertions.assertEquals(threads * allocationsPerThread, accountNumbers.size());
+        assertAllValid(accountNumbers);
+    }
+
+    private static void assertAllValid(Set<String> accountNumbers) {
+        for (val accountNumber : accountNumbers) {
+            Assertions.assertEquals(6, accountNumber.length(), accountNumber);
+            Assertions.assertTrue(AccountNumberServiceImpl.hasValidCheckCharacter(accountNumber), accountNumber);
+        }
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws Exception {
+        val executor = Executors.newFixedThreadPool(threads);
+        val start = new CountDownLatch(1);
+        try {
+            val calls = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                calls.add(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                });
+            }
+
+            val futures = calls.stream().map(executor::submit).toList();
+            start.countDown();
+            for (val future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -7,7 +7,11 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.regex.Pattern;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -36,13 +40,18 @@ import com.webapp.bankingportal.util.JsonUtil;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 
 import lombok.val;
 
 @SpringBootTest
-@TestPropertySource(locations = "classpath:application-test.properties")
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "management.tracing.sampling.probability=1.0")
 @Transactional
 @AutoConfigureMockMvc
+// Tests run with tracing, which Spring Boot otherwise turns off for tests
+@AutoConfigureObservability(metrics = false)
 public abstract class BaseTest {
 
     @Autowired
@@ -60,6 +69,12 @@ public abstract class BaseTest {
     @Autowired
     TokenService tokenService;
 
+    @Autowired
+    protected EntityManager entityManager;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
     protected static final int MIN_PASSWORD_LENGTH = 8;
     protected static final int MAX_PASSWORD_LENGTH = 127;
 
@@ -231,6 +246,20 @@ public abstract class BaseTest {
         return accountDetails;
     }
 
+    /**
+     * Flushes and clears the persistence context, then resets the Hibernate
+     * statistics, so that the next call is counted from a cold context. Needs
+     * hibernate.generate_statistics=true.
+     */
+    protected Statistics clearedStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
     protected static String getTextFromMimeMultipart(MimeMultipart mimeMultipart)
             throws MessagingException, IOException {
 
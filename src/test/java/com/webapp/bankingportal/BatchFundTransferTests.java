@@ -0,0 +1,226 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.BatchFundTransferRequest;
+import com.webapp.bankingportal.dto.BatchTransferItem;
+import com.webapp.bankingportal.exception.FundTransferException;
+import com.webapp.bankingportal.exception.UnauthorizedException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+public class BatchFundTransferTests extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Test
+    public void test_batch_transfer_with_valid_items() {
+        val sourceDetails = createAccountWithInitialBalance(1000.0);
+        val firstTarget = createAccount().get("accountNumber");
+        val secondTarget = createAccount().get("accountNumber");
+
+        val response = accountService.batchFundTransfer(sourceDetails.get("accountNumber"), sourceDetails.get("pin"),
+                List.of(new BatchTransferItem(firstTarget, 300.0),
+                        new BatchTransferItem(secondTarget, 200.0),
+                        new BatchTransferItem(firstTarget, 100.0)));
+
+        Assertions.assertEquals(3, response.succeeded());
+        Assertions.assertEquals(0, response.failed());
+        Assertions.assertEquals(400.0,
+                accountRepository.findByAccountNumber(sourceDetails.get("accountNumber")).getBalance(), 0.01);
+        Assertions.assertEquals(400.0, accountRepository.findByAccountNumber(firstTarget).getBalance(), 0.01);
+        Assertions.assertEquals(200.0, accountRepository.findByAccountNumber(secondTarget).getBalance(), 0.01);
+    }
+
+    @Test
+    public void test_batch_transfer_reports_failed_items() {
+        val sourceDetails = createAccountWithInitialBalance(500.0);
+        val sourceAccountNumber = sourceDetails.get("accountNumber");
+        val target = createAccount().get("accountNumber");
+
+        val response = accountService.batchFundTransfer(sourceAccountNumber, sourceDetails.get("pin"),
+                List.of(new BatchTransferItem(target, 400.0),
+                        new BatchTransferItem(getRandomAccountNumber(), 100.0),
+                        new BatchTransferItem(target, 50.0),
+                        new BatchTransferItem(sourceAccountNumber, 100.0),
+                        new BatchTransferItem(target, 200.0),
+                        new BatchTransferItem(target, 100.0)));
+
+        Assertions.assertEquals(2, response.succeeded());
+        Assertions.assertEquals(4, response.failed());
+
+        val results = response.results();
+        Assertions.assertTrue(results.get(0).success());
+        Assertions.assertEquals(ApiMessages.ACCOUNT_NOT_FOUND.getMessage(), results.get(1).message());
+        Assertions.assertEquals(ApiMessages.AMOUNT_NOT_MULTIPLE_OF_100_ERROR.getMessage(), results.get(2).message());
+        Assertions.assertEquals(ApiMessages.CASH_TRANSFER_SAME_ACCOUNT_ERROR.getMessage(), results.get(3).message());
+        Assertions.assertEquals(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage(), results.get(4).message());
+        Assertions.assertTrue(results.get(5).success());
+
+        Assertions.assertEquals(0.0, accountRepository.findByAccountNumber(sourceAccountNumber).getBalance(), 0.01);
+        Assertions.assertEquals(500.0, accountRepository.findByAccountNumber(target).getBalance(), 0.01);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_batch_transfer_and_opposing_transfer_do_not_deadlock() throws Exception {
+        val threads = 4;
+        val operationsPerThread = 10;
+
+        // The batch source is created last, so it has the higher id and is locked second by a single transfer
+        val targetDetails = createAccountWithInitialBalance(10_000.0);
+        val targetAccountNumber = targetDetails.get("accountNumber");
+        val sourceDetails = createAccountWithInitialBalance(10_000.0);
+        val sourceAccountNumber = sourceDetails.get("accountNumber");
+
+        val executor = Executors.newFixedThreadPool(threads);
+        val start = new CountDownLatch(1);
+        try {
+            val calls = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                val batch = t % 2 == 0;
+                calls.add(() -> {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        if (batch) {
+                            accountService.batchFundTransfer(sourceAccountNumber, sourceDetails.get("pin"),
+                                    List.of(new BatchTransferItem(targetAccountNumber, 100.0)));
+                        } else {
+                            accountService.fundTransfer(targetAccountNumber, sourceAccountNumber,
+                                    targetDetails.get("pin"), 100.0);
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            val futures = calls.stream().map(executor::submit).toList();
+            start.countDown();
+            for (val future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(10_000.0,
+                accountRepository.findByAccountNumber(sourceAccountNumber).getBalance(), 0.01);
+        Assertions.assertEquals(10_000.0,
+                accountRepository.findByAccountNumber(targetAccountNumber).getBalance(), 0.01);
+    }
+
+    @Test
+    public void test_batch_transfer_with_invalid_pin() {
+        val sourceDetails = createAccountWithInitialBalance(500.0);
+        val target = createAccount().get("accountNumber");
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.batchFundTransfer(sourceDetails.get("accountNumber"), getRandomPin(),
+                    List.of(new BatchTransferItem(target, 100.0)));
+        });
+
+        Assertions.assertEquals(0.0, accountRepository.findByAccountNumber(target).getBalance(), 0.01);
+    }
+
+    @Test
+    public void test_batch_transfer_with_empty_or_oversized_batch() {
+        val sourceDetails = createAccountWithInitialBalance(500.0);
+        val target = createAccount().get("accountNumber");
+
+        Assertions.assertThrows(FundTransferException.class, () -> {
+            accountService.batchFundTransfer(sourceDetails.get("accountNumber"), sourceDetails.get("pin"),
+                    List.of());
+        });
+
+        Assertions.assertThrows(FundTransferException.class, () -> {
+            accountService.batchFundTransfer(sourceDetails.get("accountNumber"), sourceDetails.get("pin"),
+                    Collections.nCopies(100_000, new BatchTransferItem(target, 100.0)));
+        });
+    }
+
+    @Test
+    public void test_batch_transfer_endpoint() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000.0);
+        val target = createAccount().get("accountNumber");
+
+        val request = new BatchFundTransferRequest(userDetails.get("pin"),
+                List.of(new BatchTransferItem(target, 100.0), new BatchTransferItem(getRandomAccountNumber(), 100.0)));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/fund-transfer/batch")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(request)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[1].message")
+                        .value(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+    }
+
+    /**
+     * Compares N single transfers against the same N transfers submitted as
+     * batches. N defaults to 10,000 and can be set with -Dbenchmark.transfers.
+     */
+    @Test
+    @Tag("benchmark")
+    public void benchmark_batch_vs_single_transfers() {
+        val transfers = Integer.getInteger("benchmark.transfers", 10_000);
+        val batchSize = 1000;
+        val amount = 100.0;
+
+        val sourceDetails = createAccountWithInitialBalance(100_000.0);
+        val sourceAccountNumber = sourceDetails.get("accountNumber");
+        val pin = sourceDetails.get("pin");
+        for (int deposited = 100_000; deposited < 2 * transfers * amount; deposited += 100_000) {
+            accountService.cashDeposit(sourceAccountNumber, pin, 100_000.0);
+        }
+
+        val targets = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {
+            targets.add(createAccount().get("accountNumber"));
+        }
+
+        var start = System.nanoTime();
+        for (int i = 0; i < transfers; i++) {
+            accountService.fundTransfer(sourceAccountNumber, targets.get(i % targets.size()), pin, amount);
+        }
+        val singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int offset = 0; offset < transfers; offset += batchSize) {
+            val items = new ArrayList<BatchTransferItem>();
+            for (int i = offset; i < Math.min(transfers, offset + batchSize); i++) {
+                items.add(new BatchTransferItem(targets.get(i % targets.size()), amount));
+            }
+
+            val response = accountService.batchFundTransfer(sourceAccountNumber, pin, items);
+            Assertions.assertEquals(items.size(), response.succeeded());
+        }
+        val batchNanos = System.nanoTime() - start;
+
+        System.out.printf("%d transfers: single %.1f s (%.1f/s), batch %.1f s (%.1f/s)%n", transfers,
+                singleNanos / 1e9, transfers * 1e9 / singleNanos, batchNanos / 1e9, transfers * 1e9 / batchNanos);
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.mockito.Mockito;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.BulkRegistrationRequest;
+import com.webapp.bankingportal.entity.Role;
+import com.webapp.bankingportal.entity.User;
+import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.exception.UserInvalidException;
+import com.webapp.bankingportal.service.UserService;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+@SpyBean(UserRepository.class)
+public class BulkRegistrationTests extends BaseTest {
+
+    @Autowired
+    UserService userService;
+
+    private void grantRole(String accountNumber, Role role) {
+        val user = userRepository.findByAccountAccountNumber(accountNumber).orElseThrow();
+        user.setRole(role);
+        userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    public void test_bulk_registration_with_valid_users() {
+        val users = new ArrayList<User>();
+        val passwords = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            val user = createUser();
+            passwords.add(user.getPassword());
+            users.add(user);
+        }
+
+        val response = userService.registerUsers(users);
+
+        Assertions.assertEquals(5, response.succeeded());
+        Assertions.assertEquals(0, response.failed());
+        for (int i = 0; i < users.size(); i++) {
+            val result = response.results().get(i);
+            Assertions.assertTrue(result.success());
+
+            val saved = userRepository.findByEmail(users.get(i).getEmail()).orElseThrow();
+            Assertions.assertEquals(result.accountNumber(), saved.getAccount().getAccountNumber());
+            Assertions.assertTrue(passwordEncoder.matches(passwords.get(i), saved.getPassword()));
+        }
+    }
+
+    @Test
+    public void test_bulk_registration_reports_rejected_rows() {
+        val existing = createUser();
+        userRepository.save(existing);
+
+        val valid = createUser();
+
+        val invalidEmail = createUser();
+        invalidEmail.setEmail("not-an-email");
+
+        val duplicateInBatch = createUser();
+        duplicateInBatch.setEmail(valid.getEmail());
+
+        val existingEmail = createUser();
+        existingEmail.setEmail(existing.getEmail());
+
+        val existingPhoneNumber = createUser();
+        existingPhoneNumber.setCountryCode(existing.getCountryCode());
+        existingPhoneNumber.setPhoneNumber(existing.getPhoneNumber());
+
+        val response = userService.registerUsers(
+                List.of(valid, invalidEmail, duplicateInBatch, existingEmail, existingPhoneNumber));
+
+        Assertions.assertEquals(1, response.succeeded());
+        Assertions.assertEquals(4, response.failed());
+
+        val results = response.results();
+        Assertions.assertTrue(results.get(0).success());
+        Assertions.assertEquals(String.format(ApiMessages.USER_EMAIL_ADDRESS_INVALID_ERROR.getMessage(),
+                "not-an-email"), results.get(1).message());
+        Assertions.assertEquals(ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage(), results.get(2).message());
+        Assertions.assertEquals(ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage(), results.get(3).message());
+        Assertions.assertEquals(ApiMessages.USER_PHONE_NUMBER_ALREADY_EXISTS_ERROR.getMessage(),
+                results.get(4).message());
+
+        Assertions.assertTrue(userRepository.findByEmail(valid.getEmail()).isPresent());
+    }
+
+    /**
+     * Stands in for a registration that takes an email between the uniqueness
+     * check and the insert: the check misses the existing email, so the batch
+     * insert fails on the unique constraint. Runs outside a test transaction so
+     * that the batch commits, and fails, on its own.
+     */
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_bulk_registration_falls_back_to_single_inserts_on_conflict() {
+        val existing = createUser();
+        userRepository.save(existing);
+
+        val first = createUser();
+        val conflicting = createUser();
+        conflicting.setEmail(existing.getEmail());
+        val last = createUser();
+
+        Mockito.doReturn(List.of()).when(userRepository).findExistingEmails(Mockito.anyCollection());
+        val response = userService.registerUsers(List.of(first, conflicting, last));
+
+        Assertions.assertEquals(2, response.succeeded());
+        Assertions.assertEquals(1, response.failed());
+        Assertions.assertTrue(response.results().get(0).success());
+        Assertions.assertEquals(ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage(),
+                response.results().get(1).message());
+        Assertions.assertTrue(response.results().get(2).success());
+
+        Assertions.assertEquals(response.results().get(0).accountNumber(),
+                userRepository.findByEmail(first.getEmail()).orElseThrow().getAccount().getAccountNumber());
+        Assertions.assertEquals(response.results().get(2).accountNumber(),
+                userRepository.findByEmail(last.getEmail()).orElseThrow().getAccount().getAccountNumber());
+    }
+
+    @Test
+    public void test_bulk_registration_with_empty_or_oversized_batch() {
+        Assertions.assertThrows(UserInvalidException.class, () -> {
+            userService.registerUsers(List.of());
+        });
+
+        Assertions.assertThrows(UserInvalidException.class, () -> {
+            userService.registerUsers(Collections.nCopies(100_000, createUser()));
+        });
+    }
+
+    @Test
+    public void test_bulk_registration_endpoint() throws Exception {
+        val userDetails = createAndLoginUser();
+        grantRole(userDetails.get("accountNumber"), Role.CORPORATE);
+        val invalid = createUser();
+        invalid.setPassword("short");
+        val request = new BulkRegistrationRequest(List.of(createUser(), invalid));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/register/bulk")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(request)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.succeeded").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failed").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.results[1].message")
+                        .value(ApiMessages.PASSWORD_TOO_SHORT_ERROR.getMessage()));
+    }
+
+    @Test
+    public void test_bulk_registration_endpoint_is_forbidden_to_customers() throws Exception {
+        val userDetails = createAndLoginUser();
+        val user = createUser();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/register/bulk")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new BulkRegistrationRequest(List.of(user)))))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Assertions.assertFalse(userRepository.existsByEmail(user.getEmail()));
+    }
+
+    @Test
+    public void test_bulk_registration_endpoint_requires_authentication() throws Exception {
+        val request = new BulkRegistrationRequest(List.of(createUser()));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/register/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(request)))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
+
+    /**
+     * Registers N users (default 10,000, set with -Dbenchmark.registrations) in
+     * bulk batches of 1,000, and compares the rate with single registrations
+     * measured on a sample of up to 1,000 users.
+     */
+    @Test
+    @Tag("benchmark")
+    public void benchmark_bulk_vs_single_registration() {
+        val registrations = Integer.getInteger("benchmark.registrations", 10_000);
+        val batchSize = 1000;
+        val singleSample = Math.min(registrations, 1000);
+
+        var start = System.nanoTime();
+        for (int i = 0; i < singleSample; i++) {
+            userService.registerUser(createUser());
+        }
+        val singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int offset = 0; offset < registrations; offset += batchSize) {
+            val users = new ArrayList<User>();
+            for (int i = offset; i < Math.min(registrations, offset + batchSize); i++) {
+                users.add(createUser());
+            }
+
+            val response = userService.registerUsers(users);
+            // Random test data can occasionally repeat a phone number
+            Assertions.assertTrue(response.succeeded() >= users.size() - 5);
+        }
+        val bulkNanos = System.nanoTime() - start;
+
+        System.out.printf("single: %d registrations in %.1f s (%.1f/s), bulk: %d registrations in %.1f s (%.1f/s)%n",
+                singleSample, singleNanos / 1e9, singleSample * 1e9 / singleNanos,
+                registrations, bulkNanos / 1e9, registrations * 1e9 / bulkNanos);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.webapp.bankingportal;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.dto.BatchTransferItem;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.exception.InvalidOtpException;
+import com.webapp.bankingportal.exception.InvalidPinException;
+import com.webapp.bankingportal.exception.UnauthorizedException;
+import com.webapp.bankingportal.metrics.BusinessMetrics;
+import com.webapp.bankingportal.service.OtpService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+public class BusinessMetricsTests extends BaseTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    OtpService otpService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private double count(String name, String... tags) {
+        return meterRegistry.get(name).tags(tags).functionCounter().count();
+    }
+
+    // Postings are counted when they commit, so these run outside a test transaction
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_postings_count_transactions_and_amounts_by_type() {
+        val sourceDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val target = createAccount().get("accountNumber");
+        val deposits = count(BusinessMetrics.TRANSACTIONS, "type", TransactionType.CASH_DEPOSIT.name());
+        val depositAmount = count(BusinessMetrics.TRANSACTION_AMOUNT, "type", TransactionType.CASH_DEPOSIT.name());
+        val transfers = count(BusinessMetrics.TRANSACTIONS, "type", TransactionType.CASH_TRANSFER.name());
+        val transferAmount = count(BusinessMetrics.TRANSACTION_AMOUNT, "type", TransactionType.CASH_TRANSFER.name());
+
+        accountService.cashDeposit(sourceDetails.get("accountNumber"), sourceDetails.get("pin"), 1000.0);
+        accountService.fundTransfer(sourceDetails.get("accountNumber"), target, sourceDetails.get("pin"), 300.0);
+        accountService.batchFundTransfer(sourceDetails.get("accountNumber"), sourceDetails.get("pin"),
+                List.of(new BatchTransferItem(target, 100.0), new BatchTransferItem(target, 200.0)));
+
+        Assertions.assertEquals(deposits + 1,
+                count(BusinessMetrics.TRANSACTIONS, "type", TransactionType.CASH_DEPOSIT.name()));
+        Assertions.assertEquals(depositAmount + 1000.0,
+                count(BusinessMetrics.TRANSACTION_AMOUNT, "type", TransactionType.CASH_DEPOSIT.name()), 0.001);
+        Assertions.assertEquals(transfers + 3,
+                count(BusinessMetrics.TRANSACTIONS, "type", TransactionType.CASH_TRANSFER.name()));
+        Assertions.assertEquals(transferAmount + 600.0,
+                count(BusinessMetrics.TRANSACTION_AMOUNT, "type", TransactionType.CASH_TRANSFER.name()), 0.001);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_rolled_back_posting_is_not_counted() {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val deposits = count(BusinessMetrics.TRANSACTIONS, "type", TransactionType.CASH_DEPOSIT.name());
+        val depositAmount = count(BusinessMetrics.TRANSACTION_AMOUNT, "type", TransactionType.CASH_DEPOSIT.name());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), 1000.0);
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertEquals(deposits,
+                count(BusinessMetrics.TRANSACTIONS, "type", TransactionType.CASH_DEPOSIT.name()));
+        Assertions.assertEquals(depositAmount,
+                count(BusinessMetrics.TRANSACTION_AMOUNT, "type", TransactionType.CASH_DEPOSIT.name()), 0.001);
+    }
+
+    @Test
+    public void test_insufficient_balance_is_counted() {
+        val accountDetails = createAccountWithInitialBalance(100.0);
+        val target = createAccount().get("accountNumber");
+        val before = count(BusinessMetrics.BALANCE_CHECK_FAILURES);
+
+        Assertions.assertThrows(InsufficientBalanceException.class, () -> {
+            accountService.cashWithdrawal(accountDetails.get("accountNumber"), accountDetails.get("pin"), 200.0);
+        });
+        Assertions.assertThrows(InsufficientBalanceException.class, () -> {
+            accountService.fundTransfer(accountDetails.get("accountNumber"), target, accountDetails.get("pin"), 200.0);
+        });
+
+        Assertions.assertEquals(before + 2, count(BusinessMetrics.BALANCE_CHECK_FAILURES));
+    }
+
+    @Test
+    public void test_pin_failures_are_counted_by_reason() {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val wrong = count(BusinessMetrics.PIN_FAILURES, "reason", "wrong");
+        val format = count(BusinessMetrics.PIN_FAILURES, "reason", "format");
+        val wrongPin = "0000".equals(accountDetails.get("pin")) ? "1111" : "0000";
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.cashDeposit(accountDetails.get("accountNumber"), wrongPin, 100.0);
+        });
+        Assertions.assertThrows(InvalidPinException.class, () -> {
+            accountService.updatePin(accountDetails.get("accountNumber"), accountDetails.get("pin"),
+                    accountDetails.get("password"), "12ab");
+        });
+
+        Assertions.assertEquals(wrong + 1, count(BusinessMetrics.PIN_FAILURES, "reason", "wrong"));
+        Assertions.assertEquals(format + 1, count(BusinessMetrics.PIN_FAILURES, "reason", "format"));
+    }
+
+    @Test
+    public void test_otp_generation_and_verification_are_counted() {
+        val accountNumber = createAccount().get("accountNumber");
+        val generated = count(BusinessMetrics.OTP_GENERATED);
+        val verified = count(BusinessMetrics.OTP_VERIFICATIONS, "result", "verified");
+        val invalid = count(BusinessMetrics.OTP_VERIFICATIONS, "result", "invalid");
+
+        val otp = otpService.generateOTP(accountNumber);
+        Assertions.assertTrue(otpService.validateOTP(accountNumber, otp));
+        Assertions.assertThrows(InvalidOtpException.class, () -> otpService.validateOTP(accountNumber, "0"));
+
+        Assertions.assertEquals(generated + 1, count(BusinessMetrics.OTP_GENERATED));
+        Assertions.assertEquals(verified + 1, count(BusinessMetrics.OTP_VERIFICATIONS, "result", "verified"));
+        Assertions.assertEquals(invalid + 1, count(BusinessMetrics.OTP_VERIFICATIONS, "result", "invalid"));
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.webapp.bankingportal;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+
+import com.webapp.bankingportal.config.DataSourcePoolConfig;
+import com.webapp.bankingportal.dto.PinUpdateRequest;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+/**
+ * Runs with the pool settings of the perf profile. The flows run outside a
+ * test transaction with open-in-view disabled, so any lazy association read
+ * after its service transaction has ended fails here.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.open-in-view=false",
+        "datasource.pool.size-by-cores=true",
+        "datasource.pool.connections-per-core=2",
+        "datasource.pool.effective-spindles=1"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ConnectionPoolTests extends BaseTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void test_pool_is_sized_by_cores() throws Exception {
+        val hikari = dataSource.unwrap(HikariDataSource.class);
+        val expected = DataSourcePoolConfig.poolSize(Runtime.getRuntime().availableProcessors(), 2, 1);
+
+        Assertions.assertEquals(expected, hikari.getMaximumPoolSize());
+    }
+
+    @Test
+    public void test_pool_size() {
+        Assertions.assertEquals(2, DataSourcePoolConfig.poolSize(0, 2, 1));
+        Assertions.assertEquals(9, DataSourcePoolConfig.poolSize(4, 2, 1));
+        Assertions.assertEquals(20, DataSourcePoolConfig.poolSize(8, 2, 4));
+    }
+
+    @Test
+    public void test_pool_metrics_are_published() throws Exception {
+        createAndLoginUser();
+
+        Assertions.assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+        Assertions.assertNotNull(meterRegistry.find("hikaricp.connections.usage").timer());
+        Assertions.assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+        Assertions.assertTrue(meterRegistry.get("hikaricp.connections.acquire").timer().count() > 0);
+    }
+
+    @Test
+    public void test_dashboard_without_open_in_view() throws Exception {
+        val userDetails = createAndLoginUser();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/dashboard/user")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email").value(userDetails.get("email")));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/dashboard/account")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.accountNumber").value(userDetails.get("accountNumber")));
+    }
+
+    @Test
+    public void test_pin_and_history_without_open_in_view() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000);
+        val token = userDetails.get("token");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/pin/update")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new PinUpdateRequest(userDetails.get("accountNumber"),
+                        userDetails.get("pin"), getRandomPin(), userDetails.get("password")))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(ApiMessages.PIN_UPDATE_SUCCESS.getMessage()));
+
+        val history = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/transactions")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Assertions.assertEquals(1, JsonPath.<Integer>read(history, "$.length()"));
+    }
+
+}
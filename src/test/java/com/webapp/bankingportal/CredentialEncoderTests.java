@@ -0,0 +1,80 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.webapp.bankingportal.security.TunableBCryptPasswordEncoder;
+
+import lombok.val;
+
+public class CredentialEncoderTests {
+
+    private static final String PIN = "4821";
+
+    @Test
+    public void test_encode_uses_bcrypt_prefix_and_configured_cost() {
+        val encoder = TunableBCryptPasswordEncoder.delegating(6);
+        val encoded = encoder.encode(PIN);
+
+        Assertions.assertTrue(encoded.startsWith("{bcrypt}$2a$06$"));
+        Assertions.assertTrue(encoder.matches(PIN, encoded));
+        Assertions.assertFalse(encoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    public void test_legacy_unprefixed_hash_matches_and_needs_upgrade() {
+        val legacy = new BCryptPasswordEncoder().encode(PIN);
+        val encoder = TunableBCryptPasswordEncoder.delegating(10);
+
+        Assertions.assertTrue(encoder.matches(PIN, legacy));
+        Assertions.assertFalse(encoder.matches("0000", legacy));
+        Assertions.assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    public void test_lower_and_higher_cost_hashes_need_upgrade() {
+        val encoder = TunableBCryptPasswordEncoder.delegating(6);
+
+        Assertions.assertTrue(encoder.upgradeEncoding(TunableBCryptPasswordEncoder.delegating(4).encode(PIN)));
+        Assertions.assertTrue(encoder.upgradeEncoding(TunableBCryptPasswordEncoder.delegating(8).encode(PIN)));
+    }
+
+    @Test
+    public void test_hashes_from_other_cost_still_match() {
+        val encoded = TunableBCryptPasswordEncoder.delegating(4).encode(PIN);
+
+        Assertions.assertTrue(TunableBCryptPasswordEncoder.delegating(8).matches(PIN, encoded));
+    }
+
+    /**
+     * Single-threaded PIN verifications per second for a range of BCrypt costs,
+     * i.e. the ceiling on PIN-verified money operations per core.
+     */
+    @Test
+    @Tag("benchmark")
+    public void benchmark_pin_verifications_per_core_by_cost() {
+        for (int cost = 4; cost <= 12; cost += 2) {
+            val encoder = TunableBCryptPasswordEncoder.delegating(cost);
+            val encoded = encoder.encode(PIN);
+
+            // Warm up the JIT before measuring
+            for (int i = 0; i < 5; i++) {
+                encoder.matches(PIN, encoded);
+            }
+
+            val iterations = Math.max(5, 2048 >> cost);
+            val start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Assertions.assertTrue(encoder.matches(PIN, encoded));
+            }
+            val elapsedNanos = System.nanoTime() - start;
+
+            System.out.printf("bcrypt cost %2d: %8.1f verifications/sec/core (%.2f ms each)%n",
+                    cost, iterations * 1e9 / elapsedNanos, elapsedNanos / 1e6 / iterations);
+        }
+    }
+
+}
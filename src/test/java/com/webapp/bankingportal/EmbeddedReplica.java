@@ -0,0 +1,75 @@
+package com.webapp.bankingportal;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import lombok.val;
+
+/**
+ * Stands in for replication between two in-memory H2 databases. The replica
+ * only sees what the primary held at the last {@link #sync}, so tests and
+ * load runs control exactly how far it lags behind.
+ */
+public class EmbeddedReplica {
+
+    private static final String OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+    private final String primaryUrl;
+    private final String replicaUrl;
+
+    public EmbeddedReplica(String name) {
+        this.primaryUrl = "jdbc:h2:mem:" + name + "-primary" + OPTIONS;
+        this.replicaUrl = "jdbc:h2:mem:" + name + "-replica" + OPTIONS;
+    }
+
+    public String getPrimaryUrl() {
+        return primaryUrl;
+    }
+
+    public String getReplicaUrl() {
+        return replicaUrl;
+    }
+
+    /**
+     * Replaces the replica's contents with a copy of the primary.
+     */
+    public void sync() throws SQLException {
+        try (val primary = DriverManager.getConnection(primaryUrl, "sa", "");
+                val replica = DriverManager.getConnection(replicaUrl, "sa", "");
+                val script = primary.createStatement().executeQuery("SCRIPT NOPASSWORDS NOSETTINGS");
+                val statement = replica.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            while (script.next()) {
+                statement.execute(script.getString(1));
+            }
+        }
+    }
+
+    /**
+     * Runs an update on the replica only, so tests can tell which database
+     * served a read.
+     */
+    public int updateReplica(String sql, Object... parameters) throws SQLException {
+        return update(replicaUrl, sql, parameters);
+    }
+
+    /**
+     * Runs an update on the primary only, as another instance sharing the
+     * database would, without this instance seeing the write.
+     */
+    public int updatePrimary(String sql, Object... parameters) throws SQLException {
+        return update(primaryUrl, sql, parameters);
+    }
+
+    private static int update(String url, String sql, Object... parameters) throws SQLException {
+        try (val connection = DriverManager.getConnection(url, "sa", "");
+                val statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+
+            return statement.executeUpdate();
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.webapp.bankingportal;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Token;
+import com.webapp.bankingportal.entity.User;
+import com.webapp.bankingportal.service.AccountNumberService;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+/**
+ * Counts the statements and entity loads behind registration and the
+ * dashboard (login is covered by UserResolutionTests). Each measured call
+ * starts with an empty persistence context, and the account number block is
+ * reserved up front so that it does not show up in the counts.
+ */
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "account.number.block-size=100000" })
+public class FetchPlanTests extends BaseTest {
+
+    @Autowired
+    AccountNumberService accountNumberService;
+
+    @Test
+    public void test_registration_is_one_insert_pair() throws Exception {
+        accountNumberService.nextAccountNumber();
+        val user = createUser();
+        val statistics = clearedStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(user)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        entityManager.flush();
+
+        // The email and phone number uniqueness checks
+        Assertions.assertEquals(2, statistics.getQueryExecutionCount());
+        Assertions.assertEquals(2, statistics.getEntityInsertCount());
+        Assertions.assertEquals(0, statistics.getEntityUpdateCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void test_dashboard_user_details() throws Exception {
+        val userDetails = createAndLoginUser();
+        val statistics = clearedStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/dashboard/user")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // Token check, password lookup, and the user with its account
+        Assertions.assertEquals(3, statistics.getQueryExecutionCount());
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, loadCount(statistics, Token.class));
+        Assertions.assertEquals(1, loadCount(statistics, User.class));
+        Assertions.assertEquals(1, loadCount(statistics, Account.class));
+        Assertions.assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @Test
+    public void test_dashboard_account_details() throws Exception {
+        val userDetails = createAndLoginUser();
+        val statistics = clearedStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/dashboard/account")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // Token check, password lookup, and the account alone
+        Assertions.assertEquals(3, statistics.getQueryExecutionCount());
+        Assertions.assertEquals(3, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, loadCount(statistics, User.class));
+        Assertions.assertEquals(1, loadCount(statistics, Account.class));
+        Assertions.assertEquals(0, statistics.getEntityFetchCount());
+        Assertions.assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    private static long loadCount(Statistics statistics, Class<?> entityClass) {
+        return statistics.getEntityStatistics(entityClass.getName()).getLoadCount();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.webapp.bankingportal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.val;
+
+/**
+ * Local stand-in for the geolocation API so login notifications can be
+ * exercised offline. Every lookup answers with the same city and country
+ * after an optional delay that approximates the real API's latency.
+ */
+public class GeolocationStubServer {
+
+    private static final byte[] RESPONSE = ("{"
+            + "\"city\": {\"geoname_id\": 1277333, \"names\": {\"en\": \"Bengaluru\"}},"
+            + "\"country\": {\"geoname_id\": 1269750, \"iso_code\": \"IN\", \"names\": {\"en\": \"India\"}}"
+            + "}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final long delayMillis;
+    private final AtomicLong requests = new AtomicLong();
+
+    public GeolocationStubServer(long delayMillis) {
+        this.delayMillis = delayMillis;
+
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+    }
+
+    public GeolocationStubServer start() {
+        server.start();
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * @return The base URL to configure as {@code geo.api.url}
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            val body = exchange.getResponseBody();
+            body.write(RESPONSE);
+        }
+    }
+
+}
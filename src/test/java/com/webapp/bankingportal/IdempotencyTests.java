@@ -0,0 +1,206 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.controller.AccountController;
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.IdempotentResponse;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.service.IdempotencyService;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+public class IdempotencyTests extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    IdempotencyService idempotencyService;
+
+    @Test
+    public void test_deposit_retry_with_same_key_is_replayed() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000.0);
+        val accountNumber = userDetails.get("accountNumber");
+        val amountRequest = new AmountRequest(accountNumber, userDetails.get("pin"), 500.0);
+
+        for (val replayed : new String[] { "false", "true", "true" }) {
+            mockMvc.perform(MockMvcRequestBuilders
+                    .post("/api/account/deposit")
+                    .header("Authorization", "Bearer " + userDetails.get("token"))
+                    .header(AccountController.IDEMPOTENCY_KEY_HEADER, "deposit-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonUtil.toJson(amountRequest)))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.header()
+                            .string(AccountController.IDEMPOTENT_REPLAYED_HEADER, replayed))
+                    .andExpect(MockMvcResultMatchers.content()
+                            .string(ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage()));
+        }
+
+        Assertions.assertEquals(1500.0, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+    }
+
+    @Test
+    public void test_key_reused_for_different_request() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000.0);
+        val accountNumber = userDetails.get("accountNumber");
+
+        for (val amount : new double[] { 100.0, 200.0 }) {
+            mockMvc.perform(MockMvcRequestBuilders
+                    .post("/api/account/withdraw")
+                    .header("Authorization", "Bearer " + userDetails.get("token"))
+                    .header(AccountController.IDEMPOTENCY_KEY_HEADER, "withdraw-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(JsonUtil.toJson(new AmountRequest(accountNumber, userDetails.get("pin"), amount))))
+                    .andExpect(amount == 100.0
+                            ? MockMvcResultMatchers.status().isOk()
+                            : MockMvcResultMatchers.status().isConflict());
+        }
+
+        Assertions.assertEquals(900.0, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+    }
+
+    // Runs outside a test transaction, so the failed claim is really rolled back before the retry
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_failed_operation_does_not_consume_key() {
+        val accountDetails = createAccountWithInitialBalance(100.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val pin = accountDetails.get("pin");
+
+        Assertions.assertThrows(RuntimeException.class, () -> {
+            idempotencyService.execute(accountNumber, "withdraw-1", "/withdraw", 200.0, () -> {
+                accountService.cashWithdrawal(accountNumber, pin, 200.0);
+                return ApiMessages.CASH_WITHDRAWAL_SUCCESS.getMessage();
+            });
+        });
+        Assertions.assertEquals(100.0, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+
+        val retry = idempotencyService.execute(accountNumber, "withdraw-1", "/withdraw", 100.0, () -> {
+            accountService.cashWithdrawal(accountNumber, pin, 100.0);
+            return ApiMessages.CASH_WITHDRAWAL_SUCCESS.getMessage();
+        });
+
+        Assertions.assertFalse(retry.replayed());
+        Assertions.assertEquals(ApiMessages.CASH_WITHDRAWAL_SUCCESS.getMessage(), retry.body());
+        Assertions.assertEquals(0.0, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+    }
+
+    // A lock failure inside the operation is its own error, not a sign that the key was claimed concurrently
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_operation_lock_failure_is_rethrown() {
+        val accountDetails = createAccountWithInitialBalance(100.0);
+        val accountNumber = accountDetails.get("accountNumber");
+
+        val start = System.nanoTime();
+        Assertions.assertThrows(PessimisticLockingFailureException.class, () -> {
+            idempotencyService.execute(accountNumber, "deposit-1", "/deposit", 100.0, () -> {
+                throw new PessimisticLockingFailureException("Lock wait timeout exceeded");
+            });
+        });
+        Assertions.assertTrue(System.nanoTime() - start < 1_000_000_000L, "Waited for a claim that never completes");
+
+        val retry = idempotencyService.execute(accountNumber, "deposit-1", "/deposit", 100.0,
+                ApiMessages.CASH_DEPOSIT_SUCCESS::getMessage);
+        Assertions.assertFalse(retry.replayed());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_concurrent_retries_post_exactly_once() throws Exception {
+        val retries = 16;
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val pin = accountDetails.get("pin");
+        val transactionsBefore = transactionRepository.findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(
+                accountNumber, accountNumber).size();
+
+        val executor = Executors.newFixedThreadPool(retries);
+        val start = new CountDownLatch(1);
+        try {
+            val calls = new ArrayList<Callable<IdempotentResponse>>();
+            for (int i = 0; i < retries; i++) {
+                calls.add(() -> {
+                    start.await();
+                    return idempotencyService.execute(accountNumber, "concurrent-deposit", "/deposit", 500.0, () -> {
+                        accountService.cashDeposit(accountNumber, pin, 500.0);
+                        return ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage();
+                    });
+                });
+            }
+
+            val futures = calls.stream().map(executor::submit).toList();
+            start.countDown();
+
+            var executed = 0;
+            for (val future : futures) {
+                val response = future.get();
+                Assertions.assertEquals(ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage(), response.body());
+                executed += response.replayed() ? 0 : 1;
+            }
+
+            Assertions.assertEquals(1, executed);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1500.0, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+        Assertions.assertEquals(transactionsBefore + 1, transactionRepository
+                .findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber).size());
+    }
+
+    /**
+     * Per-request cost of claiming an idempotency key, measured as deposits per
+     * second with and without a fresh key on each request.
+     */
+    @Test
+    @Tag("benchmark")
+    public void benchmark_idempotency_key_overhead() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val operations = 1000;
+
+        var start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            accountService.cashDeposit(accountNumber, accountDetails.get("pin"), 100.0);
+        }
+        val plainNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            idempotencyService.execute(accountNumber, "benchmark-" + i, "/deposit", 100.0, () -> {
+                accountService.cashDeposit(accountNumber, accountDetails.get("pin"), 100.0);
+                return ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage();
+            });
+        }
+        val keyedNanos = System.nanoTime() - start;
+
+        System.out.printf("deposits/sec without key: %.1f, with key: %.1f (%.2f ms overhead each)%n",
+                operations * 1e9 / plainNanos, operations * 1e9 / keyedNanos,
+                (keyedNanos - plainNanos) / 1e6 / operations);
+    }
+
+}
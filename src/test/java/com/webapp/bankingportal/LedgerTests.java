@@ -0,0 +1,197 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.BatchTransferItem;
+import com.webapp.bankingportal.entity.LedgerDirection;
+import com.webapp.bankingportal.entity.LedgerEntry;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.BalanceSnapshotRepository;
+import com.webapp.bankingportal.repository.LedgerEntryRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.service.LedgerService;
+
+import lombok.val;
+
+@TestPropertySource(properties = "ledger.snapshot-interval=5")
+public class LedgerTests extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    LedgerService ledgerService;
+
+    @Test
+    public void test_every_posting_is_balanced() {
+        val sourceDetails = createAccountWithInitialBalance(1000.0);
+        val sourceAccountNumber = sourceDetails.get("accountNumber");
+        val targetAccountNumber = createAccount().get("accountNumber");
+
+        accountService.cashWithdrawal(sourceAccountNumber, sourceDetails.get("pin"), 200.0);
+        accountService.fundTransfer(sourceAccountNumber, targetAccountNumber, sourceDetails.get("pin"), 300.0);
+
+        val transactions = transactionRepository
+                .findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(sourceAccountNumber,
+                        sourceAccountNumber);
+        Assertions.assertEquals(3, transactions.size());
+
+        for (val transaction : transactions) {
+            val entries = ledgerEntryRepository.findByTransactionId(transaction.getId());
+            Assertions.assertEquals(2, entries.size());
+
+            val debits = entries.stream().filter(e -> e.getDirection() == LedgerDirection.DEBIT)
+                    .mapToDouble(LedgerEntry::getAmount).sum();
+            val credits = entries.stream().filter(e -> e.getDirection() == LedgerDirection.CREDIT)
+                    .mapToDouble(LedgerEntry::getAmount).sum();
+            Assertions.assertEquals(transaction.getAmount(), debits, 0.01);
+            Assertions.assertEquals(debits, credits, 0.01);
+        }
+
+        Assertions.assertEquals(500.0, ledgerService.getBalance(sourceAccountNumber), 0.01);
+        Assertions.assertEquals(300.0, ledgerService.getBalance(targetAccountNumber), 0.01);
+    }
+
+    @Test
+    public void test_snapshots_and_historical_balance() throws Exception {
+        val sourceDetails = createAccountWithInitialBalance(5000.0);
+        val targetDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val targetAccountNumber = targetDetails.get("accountNumber");
+
+        val response = accountService.batchFundTransfer(sourceDetails.get("accountNumber"), sourceDetails.get("pin"),
+                Collections.nCopies(12, new BatchTransferItem(targetAccountNumber, 100.0)));
+        Assertions.assertEquals(12, response.succeeded());
+
+        val snapshot = balanceSnapshotRepository.findFirstByAccountNumberOrderByEntryNumberDesc(targetAccountNumber);
+        Assertions.assertTrue(snapshot.isPresent());
+        Assertions.assertEquals(10, snapshot.get().getEntryNumber());
+        Assertions.assertEquals(1000.0, snapshot.get().getBalance(), 0.01);
+
+        Thread.sleep(5);
+        val beforeDeposit = new Date();
+        Thread.sleep(5);
+        accountService.cashDeposit(targetAccountNumber, targetDetails.get("pin"), 500.0);
+
+        Assertions.assertEquals(1200.0, ledgerService.getBalanceAt(targetAccountNumber, beforeDeposit), 0.01);
+        Assertions.assertEquals(1700.0, ledgerService.getBalance(targetAccountNumber), 0.01);
+        Assertions.assertEquals(1700.0, accountRepository.findByAccountNumber(targetAccountNumber).getBalance(),
+                0.01);
+    }
+
+    @Test
+    public void test_opening_entry_for_balance_predating_ledger() {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val accountNumber = accountDetails.get("accountNumber");
+
+        val account = accountRepository.findByAccountNumber(accountNumber);
+        account.setBalance(700.0);
+        accountRepository.save(account);
+
+        accountService.cashDeposit(accountNumber, accountDetails.get("pin"), 100.0);
+
+        val entries = ledgerEntryRepository.findByAccountNumberOrderByEntryNumber(accountNumber);
+        Assertions.assertEquals(2, entries.size());
+        Assertions.assertNull(entries.get(0).getTransactionId());
+        Assertions.assertEquals(700.0, entries.get(0).getSignedAmount(), 0.01);
+        Assertions.assertEquals(800.0, ledgerService.getBalance(accountNumber), 0.01);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_replay_corrects_drifted_balance() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+
+        val account = accountRepository.findByAccountNumber(accountNumber);
+        account.setBalance(5.0);
+        accountRepository.save(account);
+
+        val result = ledgerService.replay(4);
+
+        Assertions.assertTrue(result.corrected() >= 1);
+        Assertions.assertEquals(1000.0, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+    }
+
+    /**
+     * Builds a ledger of N entries (default 1,000,000, set with
+     * -Dbenchmark.ledger-entries) spread over 100 accounts, then times a full
+     * replay with one and with several threads and compares a snapshot-based
+     * balance lookup against summing the whole history.
+     */
+    @Test
+    @Tag("benchmark")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void benchmark_replay_and_balance_on_large_ledger() {
+        val totalEntries = Integer.getInteger("benchmark.ledger-entries", 1_000_000);
+        val accounts = 100;
+        val entriesPerAccount = totalEntries / accounts;
+        val chunkSize = 10_000;
+
+        val accountNumbers = new ArrayList<String>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            accountNumbers.add(createAccount().get("accountNumber"));
+        }
+
+        var start = System.nanoTime();
+        val postedAt = new Date();
+        val chunk = new ArrayList<LedgerEntry>(chunkSize);
+        for (val accountNumber : accountNumbers) {
+            for (long entryNumber = 1; entryNumber <= entriesPerAccount; entryNumber++) {
+                chunk.add(new LedgerEntry(null, accountNumber, entryNumber, LedgerDirection.CREDIT, 100.0, postedAt));
+                if (chunk.size() == chunkSize) {
+                    ledgerEntryRepository.saveAll(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        ledgerEntryRepository.saveAll(chunk);
+        System.out.printf("Inserted %d ledger entries in %.1f s%n", accounts * entriesPerAccount,
+                (System.nanoTime() - start) / 1e9);
+
+        for (val threads : new int[] { 1, Runtime.getRuntime().availableProcessors() }) {
+            val result = ledgerService.replay(threads);
+            System.out.printf("Replay with %d threads: %d entries, %d accounts in %d ms (%.0f entries/s)%n",
+                    threads, result.entries(), result.accounts(), result.elapsedMillis(),
+                    result.entries() * 1000.0 / Math.max(1, result.elapsedMillis()));
+        }
+
+        val accountNumber = accountNumbers.get(0);
+        val lookups = 1000;
+
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            Assertions.assertEquals(entriesPerAccount * 100.0, ledgerService.getBalance(accountNumber), 0.01);
+        }
+        val snapshotNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            ledgerEntryRepository.sumSignedAmountAfter(accountNumber, 0);
+        }
+        val fullSumNanos = System.nanoTime() - start;
+
+        System.out.printf("Balance of a %d-entry account: snapshot + delta %.3f ms, full history %.3f ms%n",
+                entriesPerAccount, snapshotNanos / 1e6 / lookups, fullSumNanos / 1e6 / lookups);
+    }
+
+}
@@ -0,0 +1,271 @@
+package com.webapp.bankingportal;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.LoginRequest;
+import com.webapp.bankingportal.dto.PinRequest;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+/**
+ * Harness shared by the load tests. Boots the application on a random port
+ * against an in-memory H2 database, the GreenMail mail sender from
+ * {@link TestConfig} and a {@link GeolocationStubServer}, seeds users over
+ * HTTP and drives them from concurrent clients. Every request is recorded
+ * per endpoint, so a test can check the failures or report the latencies.
+ */
+public class LoadTestClient implements AutoCloseable {
+
+    private static final String H2_OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1";
+
+    public record VirtualUser(String accountNumber, String password, String pin, String token) {
+    }
+
+    /**
+     * One operation of a client, given the client's own random source.
+     */
+    @FunctionalInterface
+    public interface ClientOperation {
+
+        void perform(Random random) throws Exception;
+
+    }
+
+    /**
+     * Latencies and failures recorded for one endpoint.
+     */
+    public static class EndpointStats {
+
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicLong failures = new AtomicLong();
+
+        void record(long nanos, boolean success) {
+            latencies.add(nanos);
+            if (!success) {
+                failures.incrementAndGet();
+            }
+        }
+
+        public int count() {
+            return latencies.size();
+        }
+
+        public long failures() {
+            return failures.get();
+        }
+
+        public List<Long> sortedLatencies() {
+            val sorted = new ArrayList<Long>(latencies);
+            Collections.sort(sorted);
+            return sorted;
+        }
+
+    }
+
+    private final GeolocationStubServer geolocationServer;
+    private final ConfigurableApplicationContext context;
+    private final int port;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private LoadTestClient(GeolocationStubServer geolocationServer, ConfigurableApplicationContext context) {
+        this.geolocationServer = geolocationServer;
+        this.context = context;
+        this.port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public static String inMemoryDatabase(String name) {
+        return "jdbc:h2:mem:" + name + H2_OPTIONS;
+    }
+
+    /**
+     * Starts a geolocation stub answering after the given delay and the
+     * application on top of the given database. The arguments are passed on
+     * the command line so they win over any local application.properties;
+     * extra arguments are added after the shared ones.
+     */
+    public static LoadTestClient start(String datasourceUrl, long geolocationDelayMillis, List<String> extraArgs) {
+        val geolocationServer = new GeolocationStubServer(geolocationDelayMillis).start();
+
+        val args = new ArrayList<String>(List.of("--server.port=0",
+                "--spring.datasource.url=" + datasourceUrl,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.main.allow-circular-references=true",
+                "--server.error.include-message=always",
+                "--jwt.secret=bG9hZC10ZXN0LXNpZ25pbmcta2V5LWxvYWQtdGVzdC1zaWduaW5nLWtleS1sb2FkLXRlc3Qtc2lnbmluZy1rZXkt",
+                "--jwt.expiration=86400000",
+                "--geo.api.key=load-test",
+                "--geo.api.url=" + geolocationServer.getUrl(),
+                "--spring.mail.host=localhost",
+                "--statement.cron=-",
+                "--transaction.archive.cron=-"));
+        args.addAll(extraArgs);
+
+        try {
+            return new LoadTestClient(geolocationServer,
+                    new SpringApplicationBuilder(BankingportalApplication.class).run(args.toArray(String[]::new)));
+        } catch (RuntimeException e) {
+            geolocationServer.stop();
+            throw e;
+        }
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    public GeolocationStubServer getGeolocationServer() {
+        return geolocationServer;
+    }
+
+    public Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    public long getFailures() {
+        return stats.values().stream().mapToLong(EndpointStats::failures).sum();
+    }
+
+    public void clearStats() {
+        stats.clear();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        geolocationServer.stop();
+    }
+
+    /**
+     * Registers, logs in and gives a PIN and the given balance to each user,
+     * from the given number of concurrent clients.
+     */
+    public List<VirtualUser> seedUsers(int userCount, int threads, double balance) throws Exception {
+        val executor = Executors.newFixedThreadPool(threads);
+        try {
+            val tasks = new ArrayList<Callable<VirtualUser>>();
+            for (int i = 0; i < userCount; i++) {
+                tasks.add(() -> seedUser(balance));
+            }
+
+            val users = new ArrayList<VirtualUser>(userCount);
+            for (val future : executor.invokeAll(tasks)) {
+                users.add(future.get());
+            }
+
+            return users;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private VirtualUser seedUser(double balance) throws Exception {
+        val user = BaseTest.createUser();
+        val registration = expectOk("register", post("/api/users/register", user, null));
+        String accountNumber = JsonPath.read(registration.body(), "$.accountNumber");
+
+        val token = login(accountNumber, user.getPassword());
+        val pin = BaseTest.getRandomPin();
+        expectOk("pin/create", post("/api/account/pin/create", new PinRequest(accountNumber, pin, user.getPassword()),
+                token));
+        expectOk("deposit", post("/api/account/deposit", new AmountRequest(accountNumber, pin, balance), token));
+
+        return new VirtualUser(accountNumber, user.getPassword(), pin, token);
+    }
+
+    /**
+     * Splits the operations over the given number of concurrent clients. Each
+     * client gets a random source seeded with its index, so a run picks the
+     * same users and operations every time.
+     */
+    public static void drive(int threads, int operations, ClientOperation operation) throws Exception {
+        val executor = Executors.newFixedThreadPool(threads);
+        try {
+            val clients = new ArrayList<Callable<Void>>();
+            for (int i = 0; i < threads; i++) {
+                val random = new Random(i);
+                val clientOperations = operations / threads + (i < operations % threads ? 1 : 0);
+                clients.add(() -> {
+                    for (int j = 0; j < clientOperations; j++) {
+                        operation.perform(random);
+                    }
+                    return null;
+                });
+            }
+
+            for (val client : executor.invokeAll(clients)) {
+                client.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public String login(String accountNumber, String password) throws Exception {
+        val response = expectOk("login", post("/api/users/login", new LoginRequest(accountNumber, password), null));
+        return JsonPath.read(response.body(), "$.token");
+    }
+
+    public HttpRequest.Builder post(String path, Object body, String token) {
+        val request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JsonUtil.toJson(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        return request;
+    }
+
+    public HttpRequest.Builder get(String path, String token) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .GET();
+    }
+
+    public URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    public HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws Exception {
+        val start = System.nanoTime();
+        val response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        val elapsed = System.nanoTime() - start;
+
+        stats.computeIfAbsent(endpoint, key -> new EndpointStats())
+                .record(elapsed, response.statusCode() / 100 == 2);
+        return response;
+    }
+
+    public HttpResponse<String> expectOk(String endpoint, HttpRequest.Builder request) throws Exception {
+        val response = send(endpoint, request);
+        Assertions.assertEquals(200, response.statusCode(), () -> endpoint + ": " + response.body());
+        return response;
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.webapp.bankingportal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.webapp.bankingportal.LoadTestClient.VirtualUser;
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.FundTransferRequest;
+import com.webapp.bankingportal.dto.OtpRequest;
+import com.webapp.bankingportal.dto.OtpVerificationRequest;
+import com.webapp.bankingportal.repository.OtpInfoRepository;
+import com.webapp.bankingportal.service.OtpServiceImpl;
+
+import lombok.val;
+
+/**
+ * End-to-end load test. Boots the application through {@link LoadTestClient},
+ * seeds users over HTTP and then drives a fixed mix of login, OTP, deposit,
+ * withdraw, transfer and history calls from concurrent clients, printing
+ * throughput and p50/p95/p99 per endpoint.
+ *
+ * Run with: mvn test -Pload-test
+ * Tune with -Dload.users, -Dload.threads, -Dload.operations,
+ * -Dload.geo-delay-millis and -Dload.max-error-rate.
+ */
+@Tag("load")
+public class LoadTests {
+
+    private static final int SEED_BALANCE = 100_000;
+    private static final int AMOUNT = 100;
+
+    /**
+     * Relative weights of the operations each client picks from, out of 100.
+     */
+    private enum Operation {
+        LOGIN(10), OTP(5), DEPOSIT(20), WITHDRAW(15), TRANSFER(20), HISTORY(30);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(Random random) {
+            var roll = random.nextInt(100);
+            for (val operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+
+            return HISTORY;
+        }
+    }
+
+    // Generating OTPs is limited per account, so each user's requests are counted
+    private final Map<String, AtomicInteger> otpRequests = new ConcurrentHashMap<>();
+
+    @Test
+    public void load_test_mixed_workload() throws Exception {
+        val userCount = Integer.getInteger("load.users", 100);
+        val threads = Integer.getInteger("load.threads", 16);
+        val operations = Integer.getInteger("load.operations", 10_000);
+        val maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+        try (val client = LoadTestClient.start(LoadTestClient.inMemoryDatabase("loadtest"),
+                Long.getLong("load.geo-delay-millis", 50), List.of())) {
+            val otpInfoRepository = client.getContext().getBean(OtpInfoRepository.class);
+
+            var start = System.nanoTime();
+            val users = client.seedUsers(userCount, threads, SEED_BALANCE);
+            System.out.printf("Seeded %d users in %.1f s%n", users.size(), (System.nanoTime() - start) / 1e9);
+            client.clearStats();
+
+            start = System.nanoTime();
+            LoadTestClient.drive(threads, operations,
+                    random -> perform(client, otpInfoRepository, Operation.pick(random), users, random));
+            val elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            report(client, operations, threads, elapsedSeconds);
+
+            for (val entry : client.getStats().entrySet()) {
+                val endpointStats = entry.getValue();
+                val errorRate = (double) endpointStats.failures() / endpointStats.count();
+                Assertions.assertTrue(errorRate <= maxErrorRate, String.format("%s failed %d of %d requests",
+                        entry.getKey(), endpointStats.failures(), endpointStats.count()));
+            }
+
+            Assertions.assertTrue(client.getGeolocationServer().getRequestCount() > 0);
+        }
+    }
+
+    private void perform(LoadTestClient client, OtpInfoRepository otpInfoRepository, Operation operation,
+            List<VirtualUser> users, Random random) throws Exception {
+        val user = users.get(random.nextInt(users.size()));
+
+        switch (operation) {
+            case LOGIN -> client.login(user.accountNumber(), user.password());
+            case OTP -> {
+                val requests = otpRequests.computeIfAbsent(user.accountNumber(), key -> new AtomicInteger());
+                if (requests.incrementAndGet() > OtpServiceImpl.OTP_ATTEMPTS_LIMIT) {
+                    client.login(user.accountNumber(), user.password());
+                } else {
+                    loginWithOtp(client, otpInfoRepository, user.accountNumber());
+                }
+            }
+            case DEPOSIT -> client.send("deposit", client.post("/api/account/deposit",
+                    new AmountRequest(user.accountNumber(), user.pin(), AMOUNT), user.token()));
+            case WITHDRAW -> client.send("withdraw", client.post("/api/account/withdraw",
+                    new AmountRequest(user.accountNumber(), user.pin(), AMOUNT), user.token()));
+            case TRANSFER -> {
+                var target = users.get(random.nextInt(users.size()));
+                if (target == user) {
+                    target = users.get((users.indexOf(user) + 1) % users.size());
+                }
+
+                client.send("fund-transfer", client.post("/api/account/fund-transfer", new FundTransferRequest(
+                        user.accountNumber(), target.accountNumber(), AMOUNT, user.pin()), user.token()));
+            }
+            case HISTORY -> client.send("transactions", client.get("/api/account/transactions", user.token()));
+        }
+    }
+
+    private static void loginWithOtp(LoadTestClient client, OtpInfoRepository otpInfoRepository,
+            String accountNumber) throws Exception {
+        val generated = client.send("generate-otp",
+                client.post("/api/users/generate-otp", new OtpRequest(accountNumber), null));
+        if (generated.statusCode() != 200) {
+            return;
+        }
+
+        // Read the OTP from its table rather than from the email to keep the client cheap
+        val otp = otpInfoRepository.findByAccountNumber(accountNumber).getOtp();
+        client.send("verify-otp",
+                client.post("/api/users/verify-otp", new OtpVerificationRequest(accountNumber, otp), null));
+    }
+
+    private static void report(LoadTestClient client, int operations, int threads, double elapsedSeconds) {
+        System.out.printf("%d operations from %d clients in %.1f s (%.1f ops/s)%n", operations, threads,
+                elapsedSeconds, operations / elapsedSeconds);
+        System.out.printf("%-15s %8s %8s %10s %9s %9s %9s%n", "endpoint", "requests", "failed", "req/s",
+                "p50 ms", "p95 ms", "p99 ms");
+
+        for (val entry : new TreeMap<>(client.getStats()).entrySet()) {
+            val endpointStats = entry.getValue();
+            val sorted = endpointStats.sortedLatencies();
+
+            System.out.printf("%-15s %8d %8d %10.1f %9.1f %9.1f %9.1f%n", entry.getKey(), sorted.size(),
+                    endpointStats.failures(), sorted.size() / elapsedSeconds,
+                    percentileNanos(sorted, 50) / 1e6,
+                    percentileNanos(sorted, 95) / 1e6,
+                    percentileNanos(sorted, 99) / 1e6);
+        }
+
+        System.out.printf("geolocation lookups: %d%n", client.getGeolocationServer().getRequestCount());
+    }
+
+    private static long percentileNanos(List<Long> sorted, double percentile) {
+        val index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+}
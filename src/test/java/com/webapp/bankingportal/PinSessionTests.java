@@ -0,0 +1,173 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.jayway.jsonpath.JsonPath;
+
+import com.webapp.bankingportal.controller.AccountController;
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.PinSession;
+import com.webapp.bankingportal.dto.PinSessionRequest;
+import com.webapp.bankingportal.exception.UnauthorizedException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+public class PinSessionTests extends BaseTest {
+
+    private static final String BEARER_TOKEN = "bearer-token";
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Test
+    public void test_deposit_with_pin_session() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+
+        val grant = accountService.openPinSession(accountNumber, accountDetails.get("pin"), BEARER_TOKEN);
+        accountService.cashDeposit(accountNumber, new PinSession(grant.pinSession(), BEARER_TOKEN), 500.0);
+        accountService.cashWithdrawal(accountNumber, new PinSession(grant.pinSession(), BEARER_TOKEN), 200.0);
+
+        Assertions.assertEquals(1300.0, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+    }
+
+    @Test
+    public void test_open_pin_session_with_invalid_pin() {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.openPinSession(accountDetails.get("accountNumber"), getRandomPin(), BEARER_TOKEN);
+        });
+    }
+
+    @Test
+    public void test_pin_session_bound_to_bearer_token() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val grant = accountService.openPinSession(accountNumber, accountDetails.get("pin"), BEARER_TOKEN);
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.cashWithdrawal(accountNumber, new PinSession(grant.pinSession(), "other-token"), 100.0);
+        }, ApiMessages.PIN_SESSION_INVALID_ERROR.getMessage());
+    }
+
+    @Test
+    public void test_pin_session_bound_to_account() {
+        val sourceDetails = createAccountWithInitialBalance(1000.0);
+        val otherDetails = createAccountWithInitialBalance(1000.0);
+        val grant = accountService.openPinSession(sourceDetails.get("accountNumber"), sourceDetails.get("pin"),
+                BEARER_TOKEN);
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.cashWithdrawal(otherDetails.get("accountNumber"),
+                    new PinSession(grant.pinSession(), BEARER_TOKEN), 100.0);
+        });
+    }
+
+    @Test
+    public void test_pin_session_operation_cap() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val grant = accountService.openPinSession(accountNumber, accountDetails.get("pin"), BEARER_TOKEN);
+        val pinSession = new PinSession(grant.pinSession(), BEARER_TOKEN);
+
+        for (int i = 0; i < grant.maxOperations(); i++) {
+            accountService.cashDeposit(accountNumber, pinSession, 100.0);
+        }
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.cashDeposit(accountNumber, pinSession, 100.0);
+        }, ApiMessages.PIN_SESSION_LIMIT_EXCEEDED_ERROR.getMessage());
+    }
+
+    @Test
+    public void test_pin_session_amount_cap() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val grant = accountService.openPinSession(accountNumber, accountDetails.get("pin"), BEARER_TOKEN);
+        val pinSession = new PinSession(grant.pinSession(), BEARER_TOKEN);
+
+        accountService.cashDeposit(accountNumber, pinSession, grant.maxAmount());
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.cashDeposit(accountNumber, pinSession, 100.0);
+        }, ApiMessages.PIN_SESSION_LIMIT_EXCEEDED_ERROR.getMessage());
+    }
+
+    @Test
+    public void test_pin_update_revokes_pin_sessions() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val grant = accountService.openPinSession(accountNumber, accountDetails.get("pin"), BEARER_TOKEN);
+
+        accountService.updatePin(accountNumber, accountDetails.get("pin"), accountDetails.get("password"),
+                getRandomPin());
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.cashDeposit(accountNumber, new PinSession(grant.pinSession(), BEARER_TOKEN), 100.0);
+        });
+    }
+
+    @Test
+    public void test_deposit_with_pin_session_header() throws Exception {
+        val userDetails = createAndLoginUserWithPin();
+        val token = userDetails.get("token");
+
+        val sessionResult = mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/pin/session")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new PinSessionRequest(userDetails.get("pin")))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+
+        String pinSession = JsonPath.read(sessionResult.getResponse().getContentAsString(), "$.pinSession");
+        val amountRequest = new AmountRequest(userDetails.get("accountNumber"), null, 100.0);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/deposit")
+                .header("Authorization", "Bearer " + token)
+                .header(AccountController.PIN_SESSION_HEADER, pinSession)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(amountRequest)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage()));
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmark_deposits_with_pin_vs_pin_session() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val pin = accountDetails.get("pin");
+        val operations = 10;
+
+        var start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            accountService.cashDeposit(accountNumber, pin, 100.0);
+        }
+        val pinNanos = System.nanoTime() - start;
+
+        val grant = accountService.openPinSession(accountNumber, pin, BEARER_TOKEN);
+        val pinSession = new PinSession(grant.pinSession(), BEARER_TOKEN);
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            accountService.cashDeposit(accountNumber, pinSession, 100.0);
+        }
+        val sessionNanos = System.nanoTime() - start;
+
+        System.out.printf("deposits/sec with PIN: %.1f, with PIN session: %.1f%n",
+                operations * 1e9 / pinNanos, operations * 1e9 / sessionNanos);
+    }
+
+}
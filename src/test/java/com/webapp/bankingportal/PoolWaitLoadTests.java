@@ -0,0 +1,103 @@
+package com.webapp.bankingportal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.val;
+
+/**
+ * Compares how long requests wait for a pooled connection with open-in-view
+ * on and off. Both runs boot the application with the same fixed pool size,
+ * so the difference comes only from how long each request holds its
+ * connection: with open-in-view the login request keeps the connection it
+ * used to load the user while BCrypt checks the password.
+ *
+ * Run with: mvn test -Pload-test
+ * Tune with -Dload.pool-size, -Dload.users, -Dload.threads and
+ * -Dload.operations.
+ */
+@Tag("load")
+public class PoolWaitLoadTests {
+
+    private static final String ACQUIRE = "hikaricp.connections.acquire";
+    private static final String USAGE = "hikaricp.connections.usage";
+
+    private record PoolStats(long acquisitions, double acquireMeanMs, double acquireMaxMs, double usageMeanMs,
+            double elapsedSeconds) {
+    }
+
+    @Test
+    public void pool_wait_without_open_in_view() throws Exception {
+        val baseline = run("baseline", true);
+        val tuned = run("tuned", false);
+
+        System.out.printf("%-10s %12s %12s %12s %12s %8s%n", "run", "acquisitions", "acquire ms", "max ms",
+                "usage ms", "s");
+        report("osiv on", baseline);
+        report("osiv off", tuned);
+
+        Assertions.assertTrue(tuned.acquireMeanMs() < baseline.acquireMeanMs(), String.format(
+                "Mean connection wait %.3f ms was not below the baseline %.3f ms", tuned.acquireMeanMs(),
+                baseline.acquireMeanMs()));
+    }
+
+    private PoolStats run(String name, boolean openInView) throws Exception {
+        val poolSize = Integer.getInteger("load.pool-size", 4);
+        val userCount = Integer.getInteger("load.users", 50);
+        val threads = Integer.getInteger("load.threads", 16);
+        val operations = Integer.getInteger("load.operations", 2_000);
+
+        try (val client = LoadTestClient.start(LoadTestClient.inMemoryDatabase("poolwait-" + name), 0, List.of(
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.jpa.open-in-view=" + openInView,
+                "--security.password.bcrypt-cost=10"))) {
+
+            val meterRegistry = client.getContext().getBean(MeterRegistry.class);
+            val users = client.seedUsers(userCount, threads, 1_000);
+
+            val acquireBefore = snapshot(meterRegistry.get(ACQUIRE).timer());
+            val usageBefore = snapshot(meterRegistry.get(USAGE).timer());
+            val start = System.nanoTime();
+            // Seven logins for every three history reads
+            LoadTestClient.drive(threads, operations, random -> {
+                val user = users.get(random.nextInt(users.size()));
+                if (random.nextInt(10) < 7) {
+                    client.login(user.accountNumber(), user.password());
+                } else {
+                    client.expectOk("transactions", client.get("/api/account/transactions", user.token()));
+                }
+            });
+            val elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            val acquire = meterRegistry.get(ACQUIRE).timer();
+            val acquisitions = acquire.count() - acquireBefore[0];
+            return new PoolStats((long) acquisitions,
+                    meanMs(acquire, acquireBefore),
+                    acquire.max(TimeUnit.MILLISECONDS),
+                    meanMs(meterRegistry.get(USAGE).timer(), usageBefore),
+                    elapsedSeconds);
+        }
+    }
+
+    private static double[] snapshot(Timer timer) {
+        return new double[] { timer.count(), timer.totalTime(TimeUnit.MILLISECONDS) };
+    }
+
+    private static double meanMs(Timer timer, double[] before) {
+        val count = timer.count() - before[0];
+        return count == 0 ? 0 : (timer.totalTime(TimeUnit.MILLISECONDS) - before[1]) / count;
+    }
+
+    private static void report(String name, PoolStats stats) {
+        System.out.printf("%-10s %12d %12.3f %12.3f %12.3f %8.1f%n", name, stats.acquisitions(),
+                stats.acquireMeanMs(), stats.acquireMaxMs(), stats.usageMeanMs(), stats.elapsedSeconds());
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.webapp.bankingportal.dto.AmountRequest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+/**
+ * Compares the throughput of a read-heavy mix served by the primary alone
+ * with the same mix when read-only services are routed to a replica. Both
+ * runs use the same pool size per database, and the replica is an
+ * {@link EmbeddedReplica} synced once after seeding, so the deposits made
+ * during the run are only visible through the read-your-writes window.
+ *
+ * Run with: mvn test -Pload-test
+ * Tune with -Dload.pool-size, -Dload.users, -Dload.threads and
+ * -Dload.operations.
+ */
+@Tag("load")
+public class ReplicaLoadTests {
+
+    private record RunStats(double requestsPerSecond, long failures, double replicaAcquisitions) {
+    }
+
+    @Test
+    public void throughput_with_replica_reads() throws Exception {
+        val primaryOnly = run(new EmbeddedReplica("throughput-single"), false);
+        val routed = run(new EmbeddedReplica("throughput-routed"), true);
+
+        System.out.printf("%-12s %10s %8s %20s%n", "run", "req/s", "failed", "replica acquisitions");
+        System.out.printf("%-12s %10.1f %8d %20.0f%n", "primary", primaryOnly.requestsPerSecond(),
+                primaryOnly.failures(), primaryOnly.replicaAcquisitions());
+        System.out.printf("%-12s %10.1f %8d %20.0f%n", "replica", routed.requestsPerSecond(),
+                routed.failures(), routed.replicaAcquisitions());
+
+        Assertions.assertEquals(0, primaryOnly.failures());
+        Assertions.assertEquals(0, routed.failures());
+        Assertions.assertTrue(routed.replicaAcquisitions() > 0, "No reads were served by the replica");
+    }
+
+    private RunStats run(EmbeddedReplica databases, boolean useReplica) throws Exception {
+        val poolSize = Integer.getInteger("load.pool-size", 4);
+        val userCount = Integer.getInteger("load.users", 50);
+        val threads = Integer.getInteger("load.threads", 16);
+        val operations = Integer.getInteger("load.operations", 5_000);
+
+        val args = new ArrayList<String>(List.of(
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.jpa.open-in-view=false"));
+        if (useReplica) {
+            args.add("--datasource.replica.url=" + databases.getReplicaUrl());
+            args.add("--datasource.replica.username=sa");
+            args.add("--datasource.replica.password=");
+            args.add("--datasource.replica.hikari.maximum-pool-size=" + poolSize);
+        }
+
+        try (val client = LoadTestClient.start(databases.getPrimaryUrl(), 0, args)) {
+            // The replica needs the schema before the first read is routed to it
+            if (useReplica) {
+                databases.sync();
+            }
+
+            val users = client.seedUsers(userCount, threads, 1_000);
+            if (useReplica) {
+                databases.sync();
+            }
+
+            client.clearStats();
+            val start = System.nanoTime();
+            // Four reads of the dashboard or history for every deposit
+            LoadTestClient.drive(threads, operations, random -> {
+                val user = users.get(random.nextInt(users.size()));
+                val roll = random.nextInt(10);
+                if (roll < 2) {
+                    client.send("deposit", client.post("/api/account/deposit",
+                            new AmountRequest(user.accountNumber(), user.pin(), 100), user.token()));
+                } else if (roll < 6) {
+                    client.send("dashboard", client.get("/api/dashboard/account", user.token()));
+                } else {
+                    client.send("transactions", client.get("/api/account/transactions", user.token()));
+                }
+            });
+            val elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            val replicaAcquire = client.getContext().getBean(MeterRegistry.class)
+                    .find("hikaricp.connections.acquire")
+                    .tag("pool", "replica")
+                    .timer();
+            return new RunStats(operations / elapsedSeconds, client.getFailures(),
+                    replicaAcquire != null ? replicaAcquire.count() : 0);
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.webapp.bankingportal;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+
+import com.webapp.bankingportal.config.DataSourcePoolConfig;
+import com.webapp.bankingportal.config.ReplicaDataSourceConfig;
+import com.webapp.bankingportal.datasource.ReadYourWritesGuard;
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.val;
+
+/**
+ * Routes reads between two in-memory databases. The replica is refreshed
+ * from the primary explicitly, so a read can be attributed to the database
+ * that served it by changing one of them in between. The tests run outside a
+ * test transaction, which would otherwise pin every read to the primary.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReplicaRoutingTests extends BaseTest {
+
+    private static final long WINDOW_MILLIS = 500;
+    private static final int REPLICA_POOL_SIZE = 3;
+
+    private static final EmbeddedReplica replica = new EmbeddedReplica("routing");
+
+    @DynamicPropertySource
+    static void dataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", replica::getPrimaryUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("datasource.replica.url", replica::getReplicaUrl);
+        registry.add("datasource.replica.username", () -> "sa");
+        registry.add("datasource.replica.password", () -> "");
+        registry.add("datasource.replica.read-your-writes-millis", () -> WINDOW_MILLIS);
+        registry.add("datasource.pool.size-by-cores", () -> "true");
+        registry.add("datasource.replica.hikari.maximum-pool-size", () -> REPLICA_POOL_SIZE);
+    }
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    ReadYourWritesGuard readYourWrites;
+
+    // Both pools are wrapped for statement timing, so they are reached through unwrap
+    @Autowired
+    @Qualifier(ReplicaDataSourceConfig.PRIMARY_DATA_SOURCE)
+    DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier(ReplicaDataSourceConfig.REPLICA_DATA_SOURCE)
+    DataSource replicaDataSource;
+
+    @BeforeEach
+    public void syncReplica() throws Exception {
+        replica.sync();
+    }
+
+    private static void awaitWindow() throws InterruptedException {
+        Thread.sleep(WINDOW_MILLIS + 100);
+    }
+
+    private double balance(String token) throws Exception {
+        val response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/dashboard/account")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return JsonPath.<Double>read(response, "$.balance");
+    }
+
+    private int transactionCount(String token) throws Exception {
+        val response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/transactions")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        return JsonPath.<Integer>read(response, "$.length()");
+    }
+
+    @Test
+    public void test_explicit_replica_pool_size_is_kept() throws Exception {
+        val cores = Runtime.getRuntime().availableProcessors();
+
+        Assertions.assertEquals(DataSourcePoolConfig.poolSize(cores, 2, 1),
+                primaryDataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+        Assertions.assertEquals(REPLICA_POOL_SIZE,
+                replicaDataSource.unwrap(HikariDataSource.class).getMaximumPoolSize());
+    }
+
+    @Test
+    public void test_read_only_services_read_from_replica() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000);
+        replica.sync();
+        replica.updateReplica("UPDATE account SET balance = ? WHERE account_number = ?", 1.0,
+                userDetails.get("accountNumber"));
+        awaitWindow();
+
+        Assertions.assertEquals(1.0, balance(userDetails.get("token")));
+
+        // Repository calls outside a read-only service stay on the primary
+        val account = accountRepository.findByAccountNumber(userDetails.get("accountNumber"));
+        Assertions.assertEquals(1000.0, account.getBalance());
+    }
+
+    @Test
+    public void test_account_reads_primary_after_posting() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000);
+        val token = userDetails.get("token");
+        replica.sync();
+        awaitWindow();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/deposit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new AmountRequest(userDetails.get("accountNumber"),
+                        userDetails.get("pin"), 500))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertTrue(readYourWrites.hasRecentWrite(userDetails.get("accountNumber")));
+        Assertions.assertEquals(1500.0, balance(token));
+        Assertions.assertEquals(2, transactionCount(token));
+
+        // Once the window has passed the stale replica answers again
+        awaitWindow();
+        Assertions.assertEquals(1000.0, balance(token));
+        Assertions.assertEquals(1, transactionCount(token));
+    }
+
+    @Test
+    public void test_transfer_target_reads_primary_after_posting() throws Exception {
+        val source = createAndLoginUserWithInitialBalance(1000);
+        val target = createAndLoginUser();
+        replica.sync();
+        awaitWindow();
+
+        accountService.fundTransfer(source.get("accountNumber"), target.get("accountNumber"),
+                source.get("pin"), 300);
+
+        Assertions.assertEquals(300.0, balance(target.get("token")));
+    }
+
+    @Test
+    public void test_token_saved_after_sync_is_found_on_primary() throws Exception {
+        replica.sync();
+        val userDetails = createAndLoginUser();
+        awaitWindow();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/pin/check")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    public void test_token_deleted_by_another_instance_is_rejected() throws Exception {
+        val token = createAndLoginUser().get("token");
+        replica.sync();
+        awaitWindow();
+
+        // A logout handled elsewhere: the replica still has the token and this instance saw no write
+        replica.updatePrimary("DELETE FROM token WHERE token = ?", token);
+
+        Assertions.assertThrows(InvalidTokenException.class, () -> tokenService.validateToken(token));
+    }
+
+    @Test
+    public void test_invalidated_token_is_rejected_while_on_replica() throws Exception {
+        val token = createAndLoginUser().get("token");
+        replica.sync();
+        awaitWindow();
+
+        tokenService.validateToken(token);
+        tokenService.invalidateToken(token);
+
+        Assertions.assertThrows(InvalidTokenException.class, () -> tokenService.validateToken(token));
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.logging.RequestLoggingFilter;
+import com.webapp.bankingportal.metrics.SqlMetricsFilter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+import lombok.val;
+
+public class RequestLoggingTests extends BaseTest {
+
+    // Captures the MDC as the event is logged, before the filter clears it
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            event.prepareForDeferredProcessing();
+            super.append(event);
+        }
+    };
+
+    @Autowired
+    SqlMetricsFilter sqlMetricsFilter;
+
+    private Logger filterLogger() {
+        return (Logger) LoggerFactory.getLogger(RequestLoggingFilter.class);
+    }
+
+    @BeforeEach
+    public void attachAppender() {
+        appender.start();
+        filterLogger().addAppender(appender);
+    }
+
+    @AfterEach
+    public void detachAppender() {
+        filterLogger().detachAppender(appender);
+        appender.stop();
+    }
+
+    private ILoggingEvent completionEvent() {
+        Assertions.assertEquals(1, appender.list.size());
+        return appender.list.get(0);
+    }
+
+    @Test
+    public void test_completed_request_is_logged_with_request_fields() throws Exception {
+        val userDetails = createAndLoginUser();
+        appender.list.clear();
+
+        val traceId = mockMvc.perform(MockMvcRequestBuilders.get("/api/account/pin/check")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(RequestLoggingFilter.TRACE_ID_HEADER))
+                .andReturn()
+                .getResponse()
+                .getHeader(RequestLoggingFilter.TRACE_ID_HEADER);
+
+        val event = completionEvent();
+        val mdc = event.getMDCPropertyMap();
+        Assertions.assertTrue(traceId.matches("[0-9a-f]{32}"));
+        Assertions.assertEquals(traceId, mdc.get(RequestLoggingFilter.TRACE_ID));
+        Assertions.assertEquals("GET /api/account/pin/check", mdc.get(RequestLoggingFilter.ENDPOINT));
+        Assertions.assertEquals(userDetails.get("accountNumber"), mdc.get(RequestLoggingFilter.ACCOUNT_NUMBER));
+        Assertions.assertTrue(event.getKeyValuePairs().stream()
+                .anyMatch(pair -> RequestLoggingFilter.LATENCY.equals(pair.key)));
+        Assertions.assertTrue(event.getFormattedMessage().startsWith("GET /api/account/pin/check completed with 200"));
+    }
+
+    @Test
+    public void test_caller_trace_id_is_kept() throws Exception {
+        val traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/account/pin/check")
+                .header("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01"))
+                .andExpect(MockMvcResultMatchers.header().string(RequestLoggingFilter.TRACE_ID_HEADER, traceId));
+
+        Assertions.assertEquals(traceId, completionEvent().getMDCPropertyMap().get(RequestLoggingFilter.TRACE_ID));
+    }
+
+    @Test
+    public void test_malformed_trace_id_is_replaced() throws Exception {
+        val response = mockMvc.perform(MockMvcRequestBuilders.get("/api/account/pin/check")
+                .header("traceparent", "bad id\n{\"level\":\"ERROR\"}"))
+                .andReturn()
+                .getResponse();
+
+        Assertions.assertTrue(response.getHeader(RequestLoggingFilter.TRACE_ID_HEADER).matches("[0-9a-f]{32}"));
+        Assertions.assertNull(completionEvent().getMDCPropertyMap().get(RequestLoggingFilter.ACCOUNT_NUMBER));
+    }
+
+    @Test
+    public void test_sql_budget_warning_carries_request_trace_id() throws Exception {
+        val userDetails = createAndLoginUser();
+        val sqlMetricsLogger = (Logger) LoggerFactory.getLogger(SqlMetricsFilter.class);
+        val budget = ReflectionTestUtils.getField(sqlMetricsFilter, "statementBudget");
+
+        ReflectionTestUtils.setField(sqlMetricsFilter, "statementBudget", 0);
+        sqlMetricsLogger.addAppender(appender);
+        try {
+            appender.list.clear();
+            val traceId = mockMvc.perform(MockMvcRequestBuilders.get("/api/account/pin/check")
+                    .header("Authorization", "Bearer " + userDetails.get("token")))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getHeader(RequestLoggingFilter.TRACE_ID_HEADER);
+
+            val warning = appender.list.stream()
+                    .filter(event -> event.getLoggerName().equals(SqlMetricsFilter.class.getName()))
+                    .filter(event -> event.getLevel() == Level.WARN)
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No budget warning in " + appender.list));
+            Assertions.assertEquals(traceId, warning.getMDCPropertyMap().get(RequestLoggingFilter.TRACE_ID));
+            Assertions.assertEquals("GET /api/account/pin/check",
+                    warning.getMDCPropertyMap().get(RequestLoggingFilter.ENDPOINT));
+        } finally {
+            sqlMetricsLogger.detachAppender(appender);
+            ReflectionTestUtils.setField(sqlMetricsFilter, "statementBudget", budget);
+        }
+    }
+
+}
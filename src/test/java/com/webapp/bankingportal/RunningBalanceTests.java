@@ -0,0 +1,122 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.service.TransactionService;
+
+import lombok.val;
+
+public class RunningBalanceTests extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Test
+    public void test_balance_after_is_per_side() {
+        val sourceDetails = createAccountWithInitialBalance(1000.0);
+        val sourceAccountNumber = sourceDetails.get("accountNumber");
+        val targetDetails = createAccountWithInitialBalance(200.0);
+        val targetAccountNumber = targetDetails.get("accountNumber");
+
+        accountService.fundTransfer(sourceAccountNumber, targetAccountNumber, sourceDetails.get("pin"), 300.0);
+
+        val sourceHistory = transactionService.getAllTransactionsByAccountNumber(sourceAccountNumber);
+        Assertions.assertEquals(700.0, sourceHistory.get(0).getBalanceAfter(), 0.01);
+        Assertions.assertEquals(1000.0, sourceHistory.get(1).getBalanceAfter(), 0.01);
+
+        val targetHistory = transactionService.getAllTransactionsByAccountNumber(targetAccountNumber);
+        Assertions.assertEquals(500.0, targetHistory.get(0).getBalanceAfter(), 0.01);
+        Assertions.assertEquals(200.0, targetHistory.get(1).getBalanceAfter(), 0.01);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_running_balance_is_consistent_under_concurrent_postings() throws Exception {
+        val threads = 8;
+        val operationsPerThread = 10;
+
+        val firstDetails = createAccountWithInitialBalance(10_000.0);
+        val firstAccountNumber = firstDetails.get("accountNumber");
+        val secondDetails = createAccountWithInitialBalance(10_000.0);
+        val secondAccountNumber = secondDetails.get("accountNumber");
+
+        val executor = Executors.newFixedThreadPool(threads);
+        val start = new CountDownLatch(1);
+        try {
+            val calls = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                val thread = t;
+                calls.add(() -> {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        try {
+                            switch ((thread + i) % 4) {
+                                case 0 -> accountService.cashDeposit(firstAccountNumber, firstDetails.get("pin"), 300.0);
+                                case 1 -> accountService.cashWithdrawal(firstAccountNumber, firstDetails.get("pin"),
+                                        200.0);
+                                case 2 -> accountService.fundTransfer(firstAccountNumber, secondAccountNumber,
+                                        firstDetails.get("pin"), 100.0);
+                                default -> accountService.fundTransfer(secondAccountNumber, firstAccountNumber,
+                                        secondDetails.get("pin"), 400.0);
+                            }
+                        } catch (InsufficientBalanceException e) {
+                            // Rejected postings leave no trace in the history
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            val futures = calls.stream().map(executor::submit).toList();
+            start.countDown();
+            for (val future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertRunningBalanceChain(firstAccountNumber);
+        assertRunningBalanceChain(secondAccountNumber);
+    }
+
+    /**
+     * Walks the history of an account oldest first and checks that each
+     * balance-after equals the previous one plus the effect of the posting, and
+     * that the last one is the stored balance.
+     */
+    private void assertRunningBalanceChain(String accountNumber) {
+        val history = new ArrayList<>(transactionService.getAllTransactionsByAccountNumber(accountNumber));
+        history.sort(Comparator.comparing(TransactionDTO::getId));
+
+        var balance = 0.0;
+        for (val transaction : history) {
+            val credited = transaction.getTransactionType() == TransactionType.CASH_DEPOSIT
+                    || accountNumber.equals(transaction.getTargetAccountNumber());
+            balance += credited ? transaction.getAmount() : -transaction.getAmount();
+            Assertions.assertEquals(balance, transaction.getBalanceAfter(), 0.01,
+                    "Running balance broken at transaction " + transaction.getId());
+        }
+
+        Assertions.assertEquals(balance, accountRepository.findByAccountNumber(accountNumber).getBalance(), 0.01);
+    }
+
+}
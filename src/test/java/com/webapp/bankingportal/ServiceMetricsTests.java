@@ -0,0 +1,115 @@
+package com.webapp.bankingportal;
+
+import static org.hamcrest.Matchers.containsString;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.exception.UnauthorizedException;
+import com.webapp.bankingportal.metrics.ServiceMetrics;
+import com.webapp.bankingportal.service.EmailService;
+import com.webapp.bankingportal.service.TransactionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+@AutoConfigureObservability
+@TestPropertySource(properties = "management.endpoints.web.exposure.include=prometheus")
+public class ServiceMetricsTests extends BaseTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EmailService emailService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    private long count(String serviceClass, String method, String outcome, String exception) {
+        val timer = meterRegistry.find(ServiceMetrics.TIMER_NAME)
+                .tags("class", serviceClass, "method", method, "outcome", outcome, "exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    public void test_successful_operation_is_timed() {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val before = count("AccountServiceImpl", "cashDeposit", "SUCCESS", "none");
+        val pinChecksBefore = count("AccountServiceImpl", "validatePin", "SUCCESS", "none");
+
+        accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), 500.0);
+
+        Assertions.assertEquals(before + 1, count("AccountServiceImpl", "cashDeposit", "SUCCESS", "none"));
+        Assertions.assertEquals(pinChecksBefore + 1, count("AccountServiceImpl", "validatePin", "SUCCESS", "none"));
+    }
+
+    @Test
+    public void test_failed_operation_is_tagged_with_handler_outcome() {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val before = count("AccountServiceImpl", "cashWithdrawal", "CLIENT_ERROR", "InsufficientBalanceException");
+
+        Assertions.assertThrows(InsufficientBalanceException.class, () -> {
+            accountService.cashWithdrawal(accountDetails.get("accountNumber"), accountDetails.get("pin"), 500.0);
+        });
+
+        Assertions.assertEquals(before + 1,
+                count("AccountServiceImpl", "cashWithdrawal", "CLIENT_ERROR", "InsufficientBalanceException"));
+    }
+
+    @Test
+    public void test_invalid_pin_is_timed_as_client_error() {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        val before = count("AccountServiceImpl", "validatePin", "CLIENT_ERROR", "UnauthorizedException");
+
+        Assertions.assertThrows(UnauthorizedException.class, () -> {
+            accountService.cashDeposit(accountDetails.get("accountNumber"), getRandomPin(), 500.0);
+        });
+
+        Assertions.assertEquals(before + 1,
+                count("AccountServiceImpl", "validatePin", "CLIENT_ERROR", "UnauthorizedException"));
+    }
+
+    @Test
+    public void test_async_operation_is_timed_on_completion() throws Exception {
+        val before = count("EmailServiceImpl", "sendEmail", "SUCCESS", "none");
+
+        emailService.sendEmail(faker.internet().safeEmailAddress(), "Subject", "Body").get(5, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(before + 1, count("EmailServiceImpl", "sendEmail", "SUCCESS", "none"));
+    }
+
+    @Test
+    public void test_transaction_history_is_timed() {
+        val accountDetails = createAccount();
+        val before = count("TransactionServiceImpl", "getAllTransactionsByAccountNumber", "SUCCESS", "none");
+
+        transactionService.getAllTransactionsByAccountNumber(accountDetails.get("accountNumber"));
+
+        Assertions.assertEquals(before + 1,
+                count("TransactionServiceImpl", "getAllTransactionsByAccountNumber", "SUCCESS", "none"));
+    }
+
+    @Test
+    public void test_prometheus_endpoint_exposes_service_histograms() throws Exception {
+        val accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
+        accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), 500.0);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(containsString(
+                        "bankingportal_service_seconds_bucket{class=\"AccountServiceImpl\"")));
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.webapp.bankingportal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.BatchFundTransferRequest;
+import com.webapp.bankingportal.dto.BatchTransferItem;
+import com.webapp.bankingportal.dto.FundTransferRequest;
+import com.webapp.bankingportal.dto.PinRequest;
+import com.webapp.bankingportal.dto.PinSessionRequest;
+import com.webapp.bankingportal.dto.PinUpdateRequest;
+import com.webapp.bankingportal.metrics.SqlMetricsFilter;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+/**
+ * Statement budgets for the AccountController endpoints. Each budget includes
+ * the two lookups the JWT filter makes to authenticate the request. The tests
+ * run outside a test transaction so every write is flushed and counted as it
+ * would be in production.
+ */
+@TestPropertySource(properties = "sql.metrics.response-headers=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SqlBudgetTests extends BaseTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private int perform(MockHttpServletRequestBuilder request, int budget) throws Exception {
+        val result = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().is2xxSuccessful())
+                .andExpect(MockMvcResultMatchers.header().exists(SqlMetricsFilter.STATEMENT_COUNT_HEADER))
+                .andReturn();
+
+        val statements = Integer.parseInt(result.getResponse().getHeader(SqlMetricsFilter.STATEMENT_COUNT_HEADER));
+        Assertions.assertTrue(statements > 0, "No statements were counted");
+        Assertions.assertTrue(statements <= budget, String.format("%s issued %d SQL statements, budget is %d",
+                result.getRequest().getRequestURI(), statements, budget));
+        return statements;
+    }
+
+    private static MockHttpServletRequestBuilder get(String path, String token) {
+        return MockMvcRequestBuilders.get(path).header("Authorization", "Bearer " + token);
+    }
+
+    private static MockHttpServletRequestBuilder post(String path, String token, Object body) {
+        return MockMvcRequestBuilders.post(path)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(body));
+    }
+
+    @Test
+    public void test_pin_endpoints_within_budget() throws Exception {
+        val userDetails = createAndLoginUser();
+        val accountNumber = userDetails.get("accountNumber");
+        val token = userDetails.get("token");
+        val pin = getRandomPin();
+
+        perform(get("/api/account/pin/check", token), 5);
+        perform(post("/api/account/pin/create", token,
+                new PinRequest(accountNumber, pin, userDetails.get("password"))), 8);
+        perform(post("/api/account/pin/session", token, new PinSessionRequest(pin)), 6);
+
+        val newPin = "0000".equals(pin) ? "1111" : "0000";
+        perform(post("/api/account/pin/update", token,
+                new PinUpdateRequest(accountNumber, pin, newPin, userDetails.get("password"))), 10);
+    }
+
+    @Test
+    public void test_money_movement_endpoints_within_budget() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(10_000.0);
+        val accountNumber = userDetails.get("accountNumber");
+        val token = userDetails.get("token");
+        val pin = userDetails.get("pin");
+        val target = createAccount().get("accountNumber");
+
+        perform(post("/api/account/deposit", token, new AmountRequest(accountNumber, pin, 500.0)), 16);
+        perform(post("/api/account/withdraw", token, new AmountRequest(accountNumber, pin, 200.0)), 16);
+        perform(post("/api/account/fund-transfer", token,
+                new FundTransferRequest(accountNumber, target, 300.0, pin)), 22);
+        perform(post("/api/account/fund-transfer/batch", token, new BatchFundTransferRequest(pin,
+                List.of(new BatchTransferItem(target, 100.0), new BatchTransferItem(target, 200.0)))), 25);
+    }
+
+    @Test
+    public void test_history_endpoints_within_budget() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000.0);
+        val token = userDetails.get("token");
+
+        perform(get("/api/account/transactions", token), 6);
+        perform(get("/api/account/transactions/search", token).param("type", "CASH_DEPOSIT"), 7);
+        perform(get("/api/account/summary", token)
+                .param("from", LocalDate.now().minusDays(7).toString())
+                .param("to", LocalDate.now().toString()), 6);
+    }
+
+    // Each counterparty account would cost a select of its own if the page did not join them
+    @Test
+    public void test_search_with_many_counterparties_within_budget() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(10_000.0);
+        val accountNumber = userDetails.get("accountNumber");
+        val pin = userDetails.get("pin");
+
+        for (int i = 0; i < 5; i++) {
+            val counterparty = createAccountWithInitialBalance(1000.0);
+            accountService.fundTransfer(accountNumber, counterparty.get("accountNumber"), pin, 100.0);
+            accountService.fundTransfer(counterparty.get("accountNumber"), accountNumber, counterparty.get("pin"),
+                    100.0);
+        }
+
+        perform(get("/api/account/transactions/search", userDetails.get("token")), 7);
+    }
+
+    @Test
+    public void test_statement_counts_are_recorded_per_endpoint() throws Exception {
+        val userDetails = createAndLoginUser();
+        val summary = meterRegistry.find(SqlMetricsFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/api/account/pin/check")
+                .summary();
+        val before = summary == null ? 0 : summary.count();
+
+        val statements = perform(get("/api/account/pin/check", userDetails.get("token")), 5);
+
+        val recorded = meterRegistry.get(SqlMetricsFilter.STATEMENTS_METRIC)
+                .tags("method", "GET", "uri", "/api/account/pin/check")
+                .summary();
+        Assertions.assertEquals(before + 1, recorded.count());
+        Assertions.assertTrue(recorded.max() >= statements);
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.webapp.bankingportal;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.util.FileSystemUtils;
+
+import lombok.val;
+
+/**
+ * Runs with lazy initialization enabled: the documentation and mail beans are
+ * only created when first used, and still work once they are.
+ */
+@TestPropertySource(properties = "startup.lazy-init.enabled=true")
+public class StartupTests extends BaseTest {
+
+    private static final String AOT_INITIALIZER = "BOOT-INF/classes/com/webapp/bankingportal/"
+            + "BankingportalApplication__ApplicationContextInitializer.class";
+
+    // Lets the context refresh without a database, mail server or real secrets, as the CDS training run in the Dockerfile
+    private static final List<String> NO_DATABASE_ARGS = List.of(
+            "--spring.datasource.url=jdbc:mysql://localhost:3306/startup",
+            "--spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+            "--spring.jpa.hibernate.ddl-auto=none",
+            "--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false",
+            "--jwt.secret=c3RhcnR1cC1iZW5jaG1hcmstc2lnbmluZy1rZXktc3RhcnR1cC1iZW5jaG1hcmstc2lnbmluZy1rZXktc3RhcnR1cA==",
+            "--jwt.expiration=1",
+            "--geo.api.url=http://localhost",
+            "--geo.api.key=startup",
+            "--statement.cron=-",
+            "--transaction.archive.cron=-");
+
+    private record Mode(String name, List<String> jvmArgs, List<String> appArgs) {
+    }
+
+    @Autowired
+    ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    public void test_documentation_and_mail_beans_are_lazy() {
+        Assertions.assertTrue(beanFactory.getBeanDefinition("customOpenAPI").isLazyInit());
+        Assertions.assertTrue(beanFactory.getBeanDefinition("mailSender").isLazyInit());
+        Assertions.assertFalse(beanFactory.getBeanDefinition("accountServiceImpl").isLazyInit());
+    }
+
+    @Test
+    public void test_lazy_documentation_is_served() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/v3/api-docs"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.info.title").value("Banking Portal API"));
+    }
+
+    /**
+     * Starts the packaged jar in separate JVMs until the context is refreshed
+     * (-Dspring.context.exit=onRefresh) and prints the median wall-clock time
+     * per mode: the plain extracted jar, lazy initialization, a CDS archive
+     * from a training run, and, when the jar was built with -Paot, AOT with
+     * and without CDS.
+     *
+     * Run with: mvn package -DskipTests && mvn test -Pbenchmark -Dtest=StartupTests
+     * Tune with -Dstartup.runs.
+     */
+    @Test
+    @Tag("benchmark")
+    public void test_startup_time_by_mode() throws Exception {
+        val jar = packagedJar();
+        Assumptions.assumeTrue(jar != null, "No packaged jar in target, run mvn package first");
+
+        val workDir = Path.of("target", "startup-benchmark");
+        FileSystemUtils.deleteRecursively(workDir);
+        Files.createDirectories(workDir);
+
+        // CDS only archives classes loaded from plain jars on the classpath
+        val extracted = workDir.resolve("extracted");
+        Assertions.assertEquals(0, launch(workDir.resolve("extract.log"),
+                javaCommand(List.of("-Djarmode=tools"), jar, List.of("extract", "--destination", extracted.toString()))));
+        val application = extracted.resolve(jar.getFileName());
+
+        val modes = new ArrayList<Mode>();
+        modes.add(new Mode("default", List.of(), List.of()));
+        modes.add(new Mode("lazy", List.of(), List.of("--startup.lazy-init.enabled=true")));
+        modes.add(new Mode("cds", List.of(sharedArchive(workDir, application, "cds", List.of())), List.of()));
+        if (hasAotInitializer(jar)) {
+            val aot = List.of("-Dspring.aot.enabled=true");
+            modes.add(new Mode("aot", aot, List.of()));
+            val aotCds = new ArrayList<String>(aot);
+            aotCds.add(sharedArchive(workDir, application, "aot-cds", aot));
+            modes.add(new Mode("aot+cds", aotCds, List.of()));
+        }
+
+        val runs = Integer.getInteger("startup.runs", 5);
+        val medians = new LinkedHashMap<String, Long>();
+        for (val mode : modes) {
+            val millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeStartup(workDir.resolve(mode.name() + ".log"), application, mode);
+            }
+
+            Arrays.sort(millis);
+            medians.put(mode.name(), millis[runs / 2]);
+        }
+
+        System.out.printf("%-10s %12s %10s%n", "mode", "startup ms", "vs default");
+        val baseline = medians.get("default");
+        medians.forEach((mode, millis) -> System.out.printf("%-10s %12d %9.2fx%n", mode, millis,
+                (double) baseline / millis));
+    }
+
+    private static Path packagedJar() throws Exception {
+        try (val files = Files.list(Path.of("target"))) {
+            return files.filter(file -> file.toString().endsWith(".jar") && !file.toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private static boolean hasAotInitializer(Path jar) throws Exception {
+        try (val file = new JarFile(jar.toFile())) {
+            return file.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    // Training run: archives the classes loaded until the context is refreshed
+    private static String sharedArchive(Path workDir, Path application, String name, List<String> jvmArgs)
+            throws Exception {
+        val archive = workDir.resolve(name + ".jsa").toAbsolutePath();
+        val trainingArgs = new ArrayList<String>(jvmArgs);
+        trainingArgs.add("-XX:ArchiveClassesAtExit=" + archive);
+        trainingArgs.add("-Dspring.context.exit=onRefresh");
+        launch(workDir.resolve(name + "-training.log"), javaCommand(trainingArgs, application, NO_DATABASE_ARGS));
+
+        Assertions.assertTrue(Files.exists(archive), "Training run did not write " + archive);
+        return "-XX:SharedArchiveFile=" + archive;
+    }
+
+    private static long timeStartup(Path log, Path application, Mode mode) throws Exception {
+        val jvmArgs = new ArrayList<String>(mode.jvmArgs());
+        jvmArgs.add("-Dspring.context.exit=onRefresh");
+        val appArgs = new ArrayList<String>(NO_DATABASE_ARGS);
+        appArgs.addAll(mode.appArgs());
+
+        val start = System.nanoTime();
+        launch(log, javaCommand(jvmArgs, application, appArgs));
+        val millis = (System.nanoTime() - start) / 1_000_000;
+
+        Assertions.assertFalse(Files.readString(log).contains("APPLICATION FAILED TO START"),
+                () -> mode.name() + " failed to start, see " + log);
+        return millis;
+    }
+
+    private static List<String> javaCommand(List<String> jvmArgs, Path jar, List<String> appArgs) {
+        val command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(appArgs);
+        return command;
+    }
+
+    private static int launch(Path log, List<String> command) throws Exception {
+        val process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        if (!process.waitFor(2, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            Assertions.fail("Timed out: " + String.join(" ", command));
+        }
+
+        return process.exitValue();
+    }
+
+}
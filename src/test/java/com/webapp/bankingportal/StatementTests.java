@@ -0,0 +1,210 @@
+package com.webapp.bankingportal;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.entity.User;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.StatementCheckpointRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.service.StatementService;
+
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+
+import lombok.val;
+
+public class StatementTests extends BaseTest {
+
+    @Autowired
+    StatementService statementService;
+
+    @Autowired
+    StatementCheckpointRepository statementCheckpointRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_monthly_statement_is_emailed() throws Exception {
+        val period = YearMonth.now();
+        val userDetails = createAndLoginUserWithInitialBalance(1000.0);
+        accountService.cashWithdrawal(userDetails.get("accountNumber"), userDetails.get("pin"), 200.0);
+        resetCheckpoints(period);
+
+        val result = statementService.generateStatements(period);
+        Assertions.assertTrue(result.statements() >= 1);
+
+        val message = findStatement(userDetails.get("email"), period);
+        Assertions.assertNotNull(message);
+
+        val body = getTextFromMimeMultipart((MimeMultipart) message.getContent());
+        Assertions.assertTrue(body.contains("Opening balance:  0.00"));
+        Assertions.assertTrue(body.contains("Closing balance:  800.00"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_run_resumes_from_checkpoints() {
+        val period = YearMonth.now();
+        val accountNumber = createAccountWithInitialBalance(500.0).get("accountNumber");
+        val accountId = accountRepository.findByAccountNumber(accountNumber).getId();
+        resetCheckpoints(period);
+
+        val first = statementService.generateStatements(period);
+        Assertions.assertTrue(first.statements() >= 1);
+
+        // A completed run is not repeated
+        Assertions.assertEquals(0, statementService.generateStatements(period).statements());
+
+        // Rewind only the partition holding the account, as if the run had stopped inside it
+        val checkpoints = statementCheckpointRepository.findByPeriodOrderByPartitionIndex(period.toString());
+        val checkpoint = checkpoints.stream()
+                .filter(c -> c.getFirstAccountId() <= accountId && accountId <= c.getLastAccountId())
+                .findFirst()
+                .orElseThrow();
+        checkpoint.setCompleted(false);
+        checkpoint.setLastProcessedAccountId(accountId - 1);
+        statementCheckpointRepository.save(checkpoint);
+
+        val resumed = statementService.generateStatements(period);
+        Assertions.assertTrue(resumed.statements() >= 1);
+        Assertions.assertTrue(resumed.accounts() <= checkpoint.getLastAccountId() - accountId + 1);
+        Assertions.assertTrue(statementCheckpointRepository.findByPeriodOrderByPartitionIndex(period.toString())
+                .stream().allMatch(c -> c.isCompleted()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_unsent_statement_is_retried_on_next_run() throws Exception {
+        val period = YearMonth.now();
+        val accountNumber = createAccountWithInitialBalance(500.0).get("accountNumber");
+        val account = accountRepository.findWithUserByAccountNumber(accountNumber);
+        val email = account.getUser().getEmail();
+        resetCheckpoints(period);
+
+        // Two addresses in one field are rejected when the message is built, so the send fails
+        setEmail(account.getUser().getId(), email + "," + email);
+        val failedRun = statementService.generateStatements(period);
+        Assertions.assertEquals(1, failedRun.failed());
+        Assertions.assertNull(findStatement(email, period));
+
+        val checkpoint = statementCheckpointRepository.findByPeriodOrderByPartitionIndex(period.toString()).stream()
+                .filter(c -> c.getFirstAccountId() <= account.getId() && account.getId() <= c.getLastAccountId())
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertFalse(checkpoint.isCompleted());
+        Assertions.assertTrue(checkpoint.getLastProcessedAccountId() < account.getId());
+
+        setEmail(account.getUser().getId(), email);
+        val retry = statementService.generateStatements(period);
+        Assertions.assertEquals(0, retry.failed());
+        Assertions.assertTrue(retry.statements() >= 1);
+        Assertions.assertNotNull(findStatement(email, period));
+    }
+
+    /**
+     * Generates statements for N synthetic accounts (default 100,000, set with
+     * -Dbenchmark.statement-accounts) with two transactions each.
+     */
+    @Test
+    @Tag("benchmark")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void benchmark_statements_for_synthetic_accounts() {
+        val accounts = Integer.getInteger("benchmark.statement-accounts", 100_000);
+        val chunkSize = 1000;
+        val run = UUID.randomUUID().toString().substring(0, 8);
+        val period = YearMonth.now();
+        val now = new Date();
+
+        var start = System.nanoTime();
+        for (int offset = 0; offset < accounts; offset += chunkSize) {
+            val users = new ArrayList<User>(chunkSize);
+            val accountRows = new ArrayList<Account>(chunkSize);
+            val transactions = new ArrayList<Transaction>(2 * chunkSize);
+
+            for (int i = offset; i < Math.min(accounts, offset + chunkSize); i++) {
+                val user = createUser();
+                user.setEmail("statement-" + run + "-" + i + "@example.com");
+                user.setPhoneNumber("+1" + run + i);
+                users.add(user);
+
+                // Generated account numbers are hex, so a 'z' prefix cannot collide with them
+                val account = new Account();
+                account.setAccountNumber("z" + String.format("%5s", Integer.toString(i, 36)).replace(' ', '0'));
+                account.setUser(user);
+                account.setBalance(300.0);
+                accountRows.add(account);
+
+                transactions.add(syntheticTransaction(account, TransactionType.CASH_DEPOSIT, 500.0, 500.0, now));
+                transactions.add(syntheticTransaction(account, TransactionType.CASH_WITHDRAWAL, 200.0, 300.0, now));
+            }
+
+            userRepository.saveAll(users);
+            accountRepository.saveAll(accountRows);
+            transactionRepository.saveAll(transactions);
+        }
+        System.out.printf("Created %d synthetic accounts in %.1f s%n", accounts, (System.nanoTime() - start) / 1e9);
+
+        resetCheckpoints(period);
+        val result = statementService.generateStatements(period);
+
+        System.out.printf("Generated %d statements for %d accounts in %.1f s (%.0f statements/s)%n",
+                result.statements(), result.accounts(), result.elapsedMillis() / 1e3,
+                result.statements() * 1000.0 / Math.max(1, result.elapsedMillis()));
+    }
+
+    private void setEmail(long userId, String email) {
+        jdbcTemplate.update("UPDATE user SET email = ? WHERE id = ?", email, userId);
+    }
+
+    private void resetCheckpoints(YearMonth period) {
+        statementCheckpointRepository.deleteAll(
+                statementCheckpointRepository.findByPeriodOrderByPartitionIndex(period.toString()));
+    }
+
+    private static Transaction syntheticTransaction(Account account, TransactionType type, double amount,
+            double balanceAfter, Date date) {
+        val transaction = new Transaction();
+        transaction.setAmount(amount);
+        transaction.setTransactionType(type);
+        transaction.setTransactionDate(date);
+        transaction.setSourceAccount(account);
+        transaction.setSourceBalanceAfter(balanceAfter);
+        return transaction;
+    }
+
+    private static MimeMessage findStatement(String email, YearMonth period) throws Exception {
+        for (val message : GreenMailJavaMailSender.getReceivedMessages()) {
+            val toUser = Arrays.stream(message.getAllRecipients()).anyMatch(a -> a.toString().equals(email));
+            if (toUser && message.getSubject().endsWith(period.toString())) {
+                return message;
+            }
+        }
+
+        return null;
+    }
+
+}
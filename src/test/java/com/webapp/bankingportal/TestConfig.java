@@ -7,12 +7,14 @@ import org.springframework.context.annotation.Primary;
 import com.webapp.bankingportal.service.EmailService;
 import com.webapp.bankingportal.service.EmailServiceImpl;
 
+import io.micrometer.observation.ObservationRegistry;
+
 @Configuration
 public class TestConfig {
 
     @Bean
     @Primary
-    public EmailService emailService() {
-        return new EmailServiceImpl(new GreenMailJavaMailSender());
+    public EmailService emailService(ObservationRegistry observationRegistry) {
+        return new EmailServiceImpl(new GreenMailJavaMailSender(), observationRegistry);
     }
 }
@@ -0,0 +1,145 @@
+package com.webapp.bankingportal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.dto.LoginRequest;
+import com.webapp.bankingportal.logging.RequestLoggingFilter;
+import com.webapp.bankingportal.tracing.InMemorySpanExporter;
+import com.webapp.bankingportal.tracing.Spans;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+import lombok.val;
+
+public class TracingTests extends BaseTest {
+
+    private static final AttributeKey<String> DB_STATEMENT = AttributeKey.stringKey("db.statement");
+    private static final AttributeKey<String> EXCEPTION_TYPE = AttributeKey.stringKey("exception.type");
+
+    @Autowired
+    InMemorySpanExporter spanExporter;
+
+    @Autowired
+    SdkTracerProvider tracerProvider;
+
+    @BeforeEach
+    public void clearSpans() {
+        spans(null);
+        spanExporter.clear();
+    }
+
+    private static SpanData span(List<SpanData> trace, String name) {
+        return trace.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " span in " + trace));
+    }
+
+    // Finished spans are exported in batches, so they are flushed before being looked at
+    private List<SpanData> spans(String traceId) {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        return traceId != null ? spanExporter.getSpans(traceId) : spanExporter.getSpans();
+    }
+
+    // The login email is sent after the response, so its span may finish later
+    private List<SpanData> awaitSpan(String traceId, String name) throws InterruptedException {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            val trace = spans(traceId);
+            if (trace.stream().anyMatch(span -> span.getName().equals(name))) {
+                return trace;
+            }
+            Thread.sleep(50);
+        }
+
+        return spans(traceId);
+    }
+
+    private static boolean failedWith(SpanData span, String exceptionType) {
+        return span.getStatus().getStatusCode() == StatusCode.ERROR && span.getEvents().stream()
+                .anyMatch(event -> String.valueOf(event.getAttributes().get(EXCEPTION_TYPE)).endsWith(exceptionType));
+    }
+
+    private String login() throws Exception {
+        val user = createAndRegisterUser();
+        val accountNumber = userRepository.findByEmail(user.getEmail()).get().getAccount().getAccountNumber();
+
+        return mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new LoginRequest(accountNumber, user.getPassword()))))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(RequestLoggingFilter.TRACE_ID_HEADER);
+    }
+
+    @Test
+    public void test_login_spans_share_the_request_trace() throws Exception {
+        val traceId = login();
+        val trace = awaitSpan(traceId, Spans.EMAIL);
+
+        val login = span(trace, Spans.LOGIN);
+        val authenticate = span(trace, Spans.AUTHENTICATE);
+        Assertions.assertEquals(login.getSpanId(), authenticate.getParentSpanId());
+        Assertions.assertNotEquals(StatusCode.ERROR, authenticate.getStatus().getStatusCode());
+    }
+
+    @Test
+    public void test_async_login_notification_is_traced_under_login() throws Exception {
+        val traceId = login();
+        val trace = awaitSpan(traceId, Spans.EMAIL);
+
+        val login = span(trace, Spans.LOGIN);
+        Assertions.assertEquals(login.getSpanId(), span(trace, Spans.GEOLOCATION).getParentSpanId());
+        Assertions.assertEquals(login.getSpanId(), span(trace, Spans.EMAIL).getParentSpanId());
+    }
+
+    @Test
+    public void test_jdbc_calls_are_traced_with_their_sql() throws Exception {
+        val traceId = login();
+        val trace = spans(traceId);
+        val authenticate = span(trace, Spans.AUTHENTICATE);
+
+        val userQuery = trace.stream()
+                .filter(span -> authenticate.getSpanId().equals(span.getParentSpanId()))
+                .filter(span -> span.getAttributes().get(DB_STATEMENT) != null)
+                .findFirst();
+        Assertions.assertTrue(userQuery.isPresent(), "No JDBC span under " + authenticate);
+        Assertions.assertTrue(userQuery.get().getAttributes().get(DB_STATEMENT).toLowerCase().startsWith("select"));
+    }
+
+    @Test
+    public void test_failed_login_is_recorded_as_error() throws Exception {
+        val user = createAndRegisterUser();
+        val accountNumber = userRepository.findByEmail(user.getEmail()).get().getAccount().getAccountNumber();
+
+        val traceId = mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new LoginRequest(accountNumber, getRandomPassword()))))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized())
+                .andReturn()
+                .getResponse()
+                .getHeader(RequestLoggingFilter.TRACE_ID_HEADER);
+
+        val trace = spans(traceId);
+        Assertions.assertTrue(failedWith(span(trace, Spans.AUTHENTICATE), "BadCredentialsException"));
+        Assertions.assertTrue(failedWith(span(trace, Spans.LOGIN), "BadCredentialsException"));
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.webapp.bankingportal;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.ArchivedTransaction;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.ArchivedTransactionRepository;
+import com.webapp.bankingportal.repository.LedgerEntryRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.service.TransactionArchiveService;
+import com.webapp.bankingportal.service.TransactionService;
+
+import lombok.val;
+
+public class TransactionArchiveTests extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    TransactionArchiveService transactionArchiveService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void test_old_transactions_move_to_archive_and_stay_visible() {
+        val sourceDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = sourceDetails.get("accountNumber");
+        val targetAccountNumber = createAccount().get("accountNumber");
+        accountService.fundTransfer(accountNumber, targetAccountNumber, sourceDetails.get("pin"), 400.0);
+
+        // Backdate the deposit by two years
+        val history = transactionService.getAllTransactionsByAccountNumber(accountNumber);
+        val depositId = history.get(history.size() - 1).getId();
+        val deposit = transactionRepository.findById(depositId).orElseThrow();
+        deposit.setTransactionDate(daysAgo(730));
+        transactionRepository.save(deposit);
+
+        val archived = transactionArchiveService.archiveBefore(daysAgo(365));
+        Assertions.assertTrue(archived >= 1);
+        entityManager.clear();
+
+        Assertions.assertTrue(transactionRepository.findById(depositId).isEmpty());
+        Assertions.assertTrue(archivedTransactionRepository.findById(depositId).isPresent());
+        Assertions.assertEquals(2, ledgerEntryRepository.findByTransactionId(depositId).size());
+
+        val all = transactionService.getAllTransactionsByAccountNumber(accountNumber);
+        Assertions.assertEquals(2, all.size());
+        Assertions.assertEquals(600.0, all.get(0).getBalanceAfter(), 0.01);
+        Assertions.assertEquals(1000.0, all.get(1).getBalanceAfter(), 0.01);
+
+        val today = LocalDate.now();
+        val recent = transactionService.getTransactionsByAccountNumber(accountNumber, today.minusDays(30), today);
+        Assertions.assertEquals(1, recent.size());
+        Assertions.assertEquals(TransactionType.CASH_TRANSFER, recent.get(0).getTransactionType());
+
+        val old = transactionService.getTransactionsByAccountNumber(accountNumber, today.minusDays(800),
+                today.minusDays(700));
+        Assertions.assertEquals(1, old.size());
+        Assertions.assertEquals(depositId, old.get(0).getId());
+    }
+
+    @Test
+    public void test_recent_transactions_are_not_archived() {
+        val accountNumber = createAccountWithInitialBalance(1000.0).get("accountNumber");
+
+        transactionArchiveService.archiveExpired();
+
+        Assertions.assertEquals(1, transactionRepository
+                .findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber).size());
+    }
+
+    /**
+     * Measures recent-history latency for one account with N archived rows
+     * (default 50,000,000, set with -Dbenchmark.archived-transactions) and 1,000
+     * live rows, against a query that also has to read the archive.
+     */
+    @Test
+    @Tag("benchmark")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void benchmark_recent_history_with_large_archive() {
+        val archivedRows = Long.getLong("benchmark.archived-transactions", 50_000_000L);
+        val liveRows = 1000;
+        val chunkSize = 10_000;
+        val accountDetails = createAccount();
+        val accountNumber = accountDetails.get("accountNumber");
+        val account = accountRepository.findByAccountNumber(accountNumber);
+        val transactionTemplate = new TransactionTemplate(transactionManager);
+
+        var start = System.nanoTime();
+        val oldDate = daysAgo(3 * 365);
+        for (long offset = 0; offset < archivedRows; offset += chunkSize) {
+            val first = offset;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (long i = first; i < Math.min(archivedRows, first + chunkSize); i++) {
+                    // Negative ids keep synthetic rows clear of the transaction sequence
+                    val owner = i % 10_000 == 0 ? accountNumber : "a" + (i % 10_000);
+                    entityManager.persist(new ArchivedTransaction(-(i + 1), 100.0, TransactionType.CASH_DEPOSIT,
+                            oldDate, owner, null, 100.0, null));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        val live = new ArrayList<Transaction>(liveRows);
+        for (int i = 0; i < liveRows; i++) {
+            val transaction = new Transaction();
+            transaction.setAmount(100.0);
+            transaction.setTransactionType(TransactionType.CASH_DEPOSIT);
+            transaction.setTransactionDate(daysAgo(i % 30));
+            transaction.setSourceAccount(account);
+            live.add(transaction);
+        }
+        transactionRepository.saveAll(live);
+        System.out.printf("Loaded %d archived and %d live transactions in %.1f s%n", archivedRows, liveRows,
+                (System.nanoTime() - start) / 1e9);
+
+        val today = LocalDate.now();
+        val iterations = 100;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            transactionService.getTransactionsByAccountNumber(accountNumber, today.minusDays(30), today);
+        }
+        val recentNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            transactionService.getTransactionsByAccountNumber(accountNumber, today.minusDays(5 * 365), today);
+        }
+        val fullNanos = System.nanoTime() - start;
+
+        System.out.printf("Last 30 days (live tier only): %.2f ms, last 5 years (both tiers): %.2f ms%n",
+                recentNanos / 1e6 / iterations, fullNanos / 1e6 / iterations);
+    }
+
+    private static Date daysAgo(int days) {
+        return Date.from(LocalDate.now().minusDays(days).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+}
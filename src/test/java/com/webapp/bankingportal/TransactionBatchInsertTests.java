@@ -0,0 +1,60 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.webapp.bankingportal.config.JpaConfig;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+
+import lombok.val;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TransactionBatchInsertTests extends BaseTest {
+
+    private static final int TRANSACTIONS = 10_000;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Test
+    public void test_inserting_transactions_is_batched() {
+        val account = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+
+        val transactions = new ArrayList<Transaction>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            val transaction = new Transaction();
+            transaction.setAmount(100);
+            transaction.setTransactionType(TransactionType.CASH_DEPOSIT);
+            transaction.setTransactionDate(new Date());
+            transaction.setSourceAccount(account);
+            transactions.add(transaction);
+        }
+
+        val statistics = clearedStatistics();
+
+        transactionRepository.saveAll(transactions);
+        entityManager.flush();
+
+        val statements = statistics.getPrepareStatementCount();
+        Assertions.assertEquals(TRANSACTIONS, statistics.getEntityInsertCount());
+
+        // One statement per JDBC batch plus the pooled id fetches (allocationSize = 100),
+        // allowing two statements per fetch where sequences are emulated with a table
+        val expectedMax = TRANSACTIONS / JpaConfig.JDBC_BATCH_SIZE + 2 * (TRANSACTIONS / 100) + 10;
+        Assertions.assertTrue(statements <= expectedMax,
+                String.format("Expected at most %d statements but %d were issued", expectedMax, statements));
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.webapp.bankingportal;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.dto.TransactionSearchCriteria;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.service.TransactionService;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import lombok.val;
+
+// Criteria values are rendered inline so captured statements can be passed to EXPLAIN as they are
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.webapp.bankingportal.TransactionSearchTests$CapturingStatementInspector" })
+public class TransactionSearchTests extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+    }
+
+    @Test
+    public void test_search_filters_by_type_amount_and_counterparty() {
+        val accountDetails = createAccountWithInitialBalance(5000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        val pin = accountDetails.get("pin");
+        val firstTarget = createAccount().get("accountNumber");
+        val secondTarget = createAccount().get("accountNumber");
+
+        accountService.cashWithdrawal(accountNumber, pin, 300.0);
+        accountService.fundTransfer(accountNumber, firstTarget, pin, 200.0);
+        accountService.fundTransfer(accountNumber, firstTarget, pin, 900.0);
+        accountService.fundTransfer(accountNumber, secondTarget, pin, 400.0);
+
+        val transfers = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(TransactionType.CASH_TRANSFER, null, null, null, null, null), 0, 20);
+        Assertions.assertEquals(3, transfers.totalElements());
+
+        val large = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, null, null, 400.0, 1000.0, null), 0, 20);
+        Assertions.assertEquals(2, large.totalElements());
+        Assertions.assertEquals(900.0, large.content().get(1).getAmount(), 0.01);
+
+        val withFirstTarget = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, null, null, null, null, firstTarget), 0, 20);
+        Assertions.assertEquals(2, withFirstTarget.totalElements());
+        Assertions.assertTrue(withFirstTarget.content().stream()
+                .allMatch(transaction -> firstTarget.equals(transaction.getTargetAccountNumber())));
+
+        val fromTargetSide = transactionService.searchTransactions(firstTarget,
+                new TransactionSearchCriteria(null, null, null, null, null, accountNumber), 0, 20);
+        Assertions.assertEquals(2, fromTargetSide.totalElements());
+        Assertions.assertEquals(1100.0, fromTargetSide.content().get(0).getBalanceAfter(), 0.01);
+
+        val unknownCounterparty = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, null, null, null, null, getRandomAccountNumber()), 0, 20);
+        Assertions.assertEquals(0, unknownCounterparty.totalElements());
+    }
+
+    @Test
+    public void test_search_filters_by_date_range_and_paginates() {
+        val accountDetails = createAccountWithInitialBalance(1000.0);
+        val accountNumber = accountDetails.get("accountNumber");
+        for (int i = 0; i < 4; i++) {
+            accountService.cashDeposit(accountNumber, accountDetails.get("pin"), 100.0);
+        }
+
+        // Backdate the initial deposit by ten days
+        val initial = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, null, null, 1000.0, null, null), 0, 1).content().get(0);
+        val transaction = transactionRepository.findById(initial.getId()).orElseThrow();
+        transaction.setTransactionDate(daysAgo(10));
+        transactionRepository.save(transaction);
+
+        val today = LocalDate.now();
+        val recent = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, today.minusDays(1), today, null, null, null), 0, 20);
+        Assertions.assertEquals(4, recent.totalElements());
+
+        val old = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, today.minusDays(11), today.minusDays(9), null, null, null), 0,
+                20);
+        Assertions.assertEquals(1, old.totalElements());
+        Assertions.assertEquals(initial.getId(), old.content().get(0).getId());
+
+        val firstPage = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, null, null, null, null, null), 0, 2);
+        val lastPage = transactionService.searchTransactions(accountNumber,
+                new TransactionSearchCriteria(null, null, null, null, null, null), 2, 2);
+        Assertions.assertEquals(5, firstPage.totalElements());
+        Assertions.assertEquals(3, firstPage.totalPages());
+        Assertions.assertEquals(2, firstPage.content().size());
+        Assertions.assertEquals(1, lastPage.content().size());
+        Assertions.assertEquals(initial.getId(), lastPage.content().get(0).getId());
+    }
+
+    @Test
+    public void test_search_rejects_invalid_criteria() {
+        val accountNumber = createAccount().get("accountNumber");
+        val today = LocalDate.now();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transactionService.searchTransactions(accountNumber,
+                    new TransactionSearchCriteria(null, today, today.minusDays(1), null, null, null), 0, 20);
+        }, ApiMessages.DATE_RANGE_ORDER_ERROR.getMessage());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transactionService.searchTransactions(accountNumber,
+                    new TransactionSearchCriteria(null, null, null, 500.0, 100.0, null), 0, 20);
+        }, ApiMessages.AMOUNT_RANGE_INVALID_ERROR.getMessage());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transactionService.searchTransactions(accountNumber,
+                    new TransactionSearchCriteria(null, null, null, null, null, null), 0, 1000);
+        });
+    }
+
+    @Test
+    public void test_search_endpoint() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000.0);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/transactions/search")
+                .param("type", TransactionType.CASH_DEPOSIT.name())
+                .param("minAmount", "500")
+                .param("size", "10")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].amount").value(1000.0));
+    }
+
+    /**
+     * Runs EXPLAIN on the SQL generated for each filter shape and checks that
+     * the transaction table is never read with a full table or index scan.
+     */
+    @Test
+    public void test_search_query_plans_use_indexes() {
+        val accounts = new ArrayList<Account>();
+        for (int i = 0; i < 20; i++) {
+            accounts.add(accountRepository.findByAccountNumber(createAccount().get("accountNumber")));
+        }
+
+        // Enough rows that the optimizer has a real choice between scanning and seeking
+        val transactions = new ArrayList<Transaction>();
+        val types = TransactionType.values();
+        for (int i = 0; i < 5000; i++) {
+            val transaction = new Transaction();
+            transaction.setAmount(100 * (1 + i % 50));
+            transaction.setTransactionType(types[i % types.length]);
+            transaction.setTransactionDate(daysAgo(i % 90));
+            transaction.setSourceAccount(accounts.get(i % accounts.size()));
+            if (transaction.getTransactionType() == TransactionType.CASH_TRANSFER) {
+                transaction.setTargetAccount(accounts.get((i + 1) % accounts.size()));
+            }
+            transactions.add(transaction);
+        }
+        transactionRepository.saveAll(transactions);
+        entityManager.flush();
+        entityManager.clear();
+
+        val accountNumber = accounts.get(0).getAccountNumber();
+        val counterparty = accounts.get(1).getAccountNumber();
+        val today = LocalDate.now();
+        val shapes = List.of(
+                new TransactionSearchCriteria(null, null, null, null, null, null),
+                new TransactionSearchCriteria(TransactionType.CASH_TRANSFER, null, null, null, null, null),
+                new TransactionSearchCriteria(null, today.minusDays(7), today, null, null, null),
+                new TransactionSearchCriteria(TransactionType.CASH_DEPOSIT, today.minusDays(30), today, null, null,
+                        null),
+                new TransactionSearchCriteria(null, null, null, 1000.0, 2000.0, null),
+                new TransactionSearchCriteria(null, null, null, null, null, counterparty),
+                new TransactionSearchCriteria(TransactionType.CASH_TRANSFER, today.minusDays(30), today, 500.0,
+                        null, counterparty));
+
+        for (val criteria : shapes) {
+            CapturingStatementInspector.statements.clear();
+            transactionService.searchTransactions(accountNumber, criteria, 1, 10);
+
+            val searchStatements = CapturingStatementInspector.statements.stream()
+                    .filter(sql -> sql.contains(" from transaction "))
+                    .toList();
+            Assertions.assertFalse(searchStatements.isEmpty());
+
+            for (val sql : searchStatements) {
+                // Only the limit and offset are still bound as parameters
+                val plan = jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", "10"));
+                for (val row : plan) {
+                    val accessType = String.valueOf(row.get("type"));
+                    Assertions.assertNotEquals("ALL", accessType, criteria + " scans the table: " + row);
+                    Assertions.assertNotEquals("index", accessType, criteria + " scans an index: " + row);
+                }
+            }
+        }
+    }
+
+    private static Date daysAgo(int days) {
+        return Date.from(LocalDate.now().minusDays(days).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.webapp.bankingportal;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.dto.BatchTransferItem;
+import com.webapp.bankingportal.dto.TransactionSummaryItem;
+import com.webapp.bankingportal.entity.LedgerDirection;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.service.TransactionAggregateService;
+import com.webapp.bankingportal.service.TransactionService;
+
+import lombok.val;
+
+public class TransactionSummaryTests extends BaseTest {
+
+    @Autowired
+    TransactionAggregateService transactionAggregateService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Test
+    public void test_summary_matches_brute_force_recomputation() {
+        val firstDetails = createAccountWithInitialBalance(5000.0);
+        val first = firstDetails.get("accountNumber");
+        val secondDetails = createAccountWithInitialBalance(1000.0);
+        val second = secondDetails.get("accountNumber");
+
+        accountService.cashWithdrawal(first, firstDetails.get("pin"), 300.0);
+        accountService.cashDeposit(first, firstDetails.get("pin"), 700.0);
+        accountService.fundTransfer(first, second, firstDetails.get("pin"), 400.0);
+        accountService.fundTransfer(second, first, secondDetails.get("pin"), 100.0);
+        accountService.batchFundTransfer(first, firstDetails.get("pin"), List.of(
+                new BatchTransferItem(second, 200.0),
+                new BatchTransferItem(second, 500.0)));
+
+        val today = LocalDate.now();
+        for (val accountNumber : List.of(first, second)) {
+            val summary = transactionAggregateService.getSummary(accountNumber, today.minusDays(1), today);
+            Assertions.assertEquals(bruteForce(accountNumber), asMap(summary.items()));
+        }
+    }
+
+    @Test
+    public void test_summary_outside_range_is_empty() {
+        val accountNumber = createAccountWithInitialBalance(1000.0).get("accountNumber");
+        val lastWeek = LocalDate.now().minusDays(7);
+
+        val summary = transactionAggregateService.getSummary(accountNumber, lastWeek, lastWeek.plusDays(1));
+        Assertions.assertTrue(summary.items().isEmpty());
+        Assertions.assertEquals(0.0, summary.totalCredits(), 0.01);
+    }
+
+    @Test
+    public void test_summary_rejects_inverted_range() {
+        val accountNumber = createAccount().get("accountNumber");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transactionAggregateService.getSummary(accountNumber, LocalDate.now(), LocalDate.now().minusDays(1));
+        });
+    }
+
+    @Test
+    public void test_summary_endpoint() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000.0);
+        val today = LocalDate.now().toString();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/summary")
+                .param("from", today)
+                .param("to", today)
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalCredits").value(1000.0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].transactionType").value("CASH_DEPOSIT"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.items[0].count").value(1));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/summary")
+                .param("from", today)
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    /**
+     * Recomputes the summary by walking every transaction of the account.
+     */
+    private Map<String, String> bruteForce(String accountNumber) {
+        val totals = new HashMap<String, double[]>();
+        for (val transaction : transactionService.getAllTransactionsByAccountNumber(accountNumber)) {
+            val credited = transaction.getTransactionType() == TransactionType.CASH_DEPOSIT
+                    || accountNumber.equals(transaction.getTargetAccountNumber());
+            val key = transaction.getTransactionType() + "/"
+                    + (credited ? LedgerDirection.CREDIT : LedgerDirection.DEBIT);
+            val total = totals.computeIfAbsent(key, k -> new double[2]);
+            total[0] += 1;
+            total[1] += transaction.getAmount();
+        }
+
+        val result = new HashMap<String, String>();
+        totals.forEach((key, total) -> result.put(key, String.format("%d:%.2f", (long) total[0], total[1])));
+        return result;
+    }
+
+    private static Map<String, String> asMap(List<TransactionSummaryItem> items) {
+        val result = new HashMap<String, String>();
+        for (val item : items) {
+            result.put(item.transactionType() + "/" + item.direction(),
+                    String.format("%d:%.2f", item.count(), item.total()));
+        }
+        return result;
+    }
+
+}
@@ -15,6 +15,7 @@ import com.webapp.bankingportal.dto.LoginRequest;
 import com.webapp.bankingportal.dto.OtpRequest;
 import com.webapp.bankingportal.dto.OtpVerificationRequest;
 import com.webapp.bankingportal.dto.PinRequest;
+import com.webapp.bankingportal.entity.Role;
 import com.webapp.bankingportal.service.TokenService;
 import com.webapp.bankingportal.util.ApiMessages;
 import com.webapp.bankingportal.util.JsonUtil;
@@ -31,6 +32,21 @@ public class UserControllerTests extends BaseTest {
         createAndRegisterUser();
     }
 
+    @Test
+    public void test_register_user_ignores_requested_role() throws Exception {
+        val user = createUser();
+        val body = JsonUtil.toJson(user).replace("\"role\":\"CUSTOMER\"", "\"role\":\"ADMIN\"");
+        Assertions.assertTrue(body.contains("\"role\":\"ADMIN\""));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertEquals(Role.CUSTOMER, userRepository.findByEmail(user.getEmail()).orElseThrow().getRole());
+    }
+
     @Test
     public void test_register_user_with_empty_name() throws Exception {
         val user = createUser();
@@ -0,0 +1,82 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.dto.LoginRequest;
+import com.webapp.bankingportal.exception.UserInvalidException;
+import com.webapp.bankingportal.service.UserService;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class UserResolutionTests extends BaseTest {
+
+    @Autowired
+    UserService userService;
+
+    @Test
+    public void test_identifier_resolution_issues_one_statement() throws Exception {
+        val user = createAndRegisterUser();
+        val accountNumber = userRepository.findByEmail(user.getEmail()).orElseThrow().getAccount().getAccountNumber();
+        val statistics = clearedStatistics();
+
+        val byEmail = userService.getUserByIdentifier(user.getEmail());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(accountNumber, byEmail.getAccount().getAccountNumber());
+
+        statistics.clear();
+        entityManager.clear();
+        val byAccountNumber = userService.getUserByIdentifier(accountNumber);
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(user.getEmail(), byAccountNumber.getEmail());
+    }
+
+    @Test
+    public void test_unknown_identifier() {
+        Assertions.assertThrows(UserInvalidException.class, () -> {
+            userService.getUserByIdentifier(getRandomAccountNumber());
+        });
+
+        Assertions.assertThrows(UserInvalidException.class, () -> {
+            userService.getUserByIdentifier(faker.internet().safeEmailAddress());
+        });
+
+        Assertions.assertThrows(UserInvalidException.class, () -> {
+            userService.getUserByIdentifier("not an identifier");
+        });
+    }
+
+    @Test
+    public void test_login_resolves_user_with_one_statement() throws Exception {
+        val user = createAndRegisterUser();
+        val loginRequest = new LoginRequest(user.getEmail(), user.getPassword());
+        val statistics = clearedStatistics();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(loginRequest)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // The user and account are loaded together, and no later step reloads them
+        Assertions.assertEquals(1, statistics.getEntityStatistics("com.webapp.bankingportal.entity.User")
+                .getLoadCount());
+        Assertions.assertEquals(1, statistics.getEntityStatistics("com.webapp.bankingportal.entity.Account")
+                .getLoadCount());
+        Assertions.assertEquals(0, statistics.getEntityFetchCount());
+
+        // One select for the user, one token uniqueness check, and possibly a
+        // pooled id fetch; the token insert itself is flushed at commit
+        val statements = statistics.getPrepareStatementCount();
+        Assertions.assertTrue(statements <= 3, "Expected at most 3 statements but " + statements + " were issued");
+    }
+
+}